@@ -0,0 +1,10 @@
+package com.account_service.account_service.account;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AccountBatchLookupRequest {
+    private List<String> accountIds;
+}
@@ -0,0 +1,18 @@
+package com.account_service.account_service.account;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountChangeEvent {
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+    // Carries service-events.token; subscribers reject events without it
+    public static final String TOKEN_HEADER = "X-Events-Token";
+
+    private String accountId;
+    private String type;
+}
@@ -0,0 +1,98 @@
+package com.account_service.account_service.account;
+
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Tells services that cache account lookups (card-service) that an account was
+ * edited or deleted. A subscriber URL's host is a service id, and every
+ * instance discovered under it is sent the event: each instance holds its own
+ * cache, so going through the load balancer would reach only one of them.
+ * Hosts discovery does not know are called as given. Best effort and off the
+ * request thread; subscribers bound staleness with their own TTLs. Events
+ * carry service-events.token, which subscribers check, so nothing is sent
+ * while it is unset.
+ */
+@Slf4j
+@Component
+public class AccountChangePublisher {
+    private final DiscoveryClient discoveryClient;
+    private final RestTemplate restTemplate;
+
+    @Value("${account-events.subscribers:}")
+    private List<String> subscribers = List.of();
+
+    @Value("${service-events.token:}")
+    private String eventsToken = "";
+
+    public AccountChangePublisher(DiscoveryClient discoveryClient,
+                                  HttpClient httpClient,
+                                  ObservationRegistry observationRegistry,
+                                  ClientRequestObservationConvention clientRequestObservationConvention) {
+        this.discoveryClient = discoveryClient;
+        // The shared pooled HttpClient without the load-balancer interceptor
+        this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        this.restTemplate.setObservationRegistry(observationRegistry);
+        this.restTemplate.setObservationConvention(clientRequestObservationConvention);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warnIfTokenMissing() {
+        if (!subscribers.isEmpty() && !StringUtils.hasText(eventsToken)) {
+            log.warn("service-events.token is not set; account change events will not be published to {}", subscribers);
+        }
+    }
+
+    @Async
+    public void publish(String accountId, String type) {
+        // Subscribers would reject every event without the token
+        if (!StringUtils.hasText(eventsToken)) {
+            return;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(AccountChangeEvent.TOKEN_HEADER, eventsToken);
+        HttpEntity<AccountChangeEvent> event = new HttpEntity<>(new AccountChangeEvent(accountId, type), headers);
+        for (String subscriber : subscribers) {
+            for (String target : targets(subscriber)) {
+                try {
+                    restTemplate.postForEntity(target, event, Void.class);
+                } catch (Exception e) {
+                    log.warn("Could not deliver {} event for account {} to {}: {}",
+                            type, accountId, target, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private List<String> targets(String subscriber) {
+        URI uri = URI.create(subscriber);
+        List<ServiceInstance> instances = uri.getHost() != null ? discoveryClient.getInstances(uri.getHost()) : List.of();
+        if (instances.isEmpty()) {
+            return List.of(subscriber);
+        }
+        return instances.stream()
+                .map(instance -> UriComponentsBuilder.fromUri(instance.getUri())
+                        .path(uri.getRawPath())
+                        .query(uri.getRawQuery())
+                        .toUriString())
+                .toList();
+    }
+}
@@ -15,6 +15,12 @@ public class AccountController {
         var response= accountsService.createAccount(accountRequest);
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
+    @PostMapping("/batch-lookup")
+    public ResponseEntity<?> batchLookup(@RequestBody AccountBatchLookupRequest request) {
+        var response = accountsService.batchLookup(request.getAccountIds());
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
     @GetMapping
     public ResponseEntity<?> fetchAccountById(@RequestParam String accountId ) {
         var response= accountsService.fetchAccountById(accountId);
@@ -32,6 +38,14 @@ public class AccountController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    // Called by customer-service when a customer is created, edited or deleted
+    @PostMapping("/customer-events")
+    public ResponseEntity<?> customerChanged(@RequestBody CustomerChangeEvent event,
+                                             @RequestHeader(name = CustomerChangeEvent.TOKEN_HEADER, required = false) String token) {
+        var response = accountsService.handleCustomerChange(event, token);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<?> searchAccounts(
             @RequestParam(required = false) String iban,
@@ -49,4 +63,23 @@ public class AccountController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    @GetMapping("/search/cursor")
+    public ResponseEntity<?> searchAccountsByCursor(
+            @RequestParam(required = false) String iban,
+            @RequestParam(required = false) String bicSwift,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeCount) {
+
+        AccountSearchRequest request = new AccountSearchRequest();
+        request.setIban(iban);
+        request.setBicSwift(bicSwift);
+        request.setCursor(cursor);
+        request.setSize(size);
+        request.setIncludeCount(includeCount);
+
+        var response = accountsService.searchAccountsByCursor(request);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
 }
@@ -0,0 +1,110 @@
+package com.account_service.account_service.account;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out account number sequences per bank/branch/yyMM prefix.
+ * Sequences are reserved from the account_number_sequences table in blocks
+ * and served from memory, so only a block refill touches the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountNumberAllocator {
+    private final AccountNumberSequenceRepository sequenceRepository;
+    private final AccountsRepository accountsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    @Value("${account-number.block-size:50}")
+    private int blockSize = 50;
+
+    public long next(String prefix) {
+        Block block = blocks.get(prefix);
+        if (block != null) {
+            long value = block.cursor.getAndIncrement();
+            if (value < block.limit) {
+                return value;
+            }
+        }
+        return nextFromNewBlock(prefix);
+    }
+
+    private long nextFromNewBlock(String prefix) {
+        // A lock rather than synchronized so a virtual thread doing the refill I/O is not pinned
+        refillLock.lock();
+        try {
+            Block block = blocks.get(prefix);
+            if (block != null) {
+                long value = block.cursor.getAndIncrement();
+                if (value < block.limit) {
+                    return value;
+                }
+            }
+            // Only the current month's prefix is ever asked for again
+            blocks.keySet().removeIf(key -> !key.equals(prefix));
+
+            Block reserved = reserveBlock(prefix);
+            long value = reserved.cursor.getAndIncrement();
+            blocks.put(prefix, reserved);
+            return value;
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private Block reserveBlock(String prefix) {
+        try {
+            return transactionTemplate.execute(status -> doReserveBlock(prefix));
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race to insert this prefix's first account_number_sequences row;
+            // the retry locks the winner's row instead
+            return transactionTemplate.execute(status -> doReserveBlock(prefix));
+        }
+    }
+
+    private Block doReserveBlock(String prefix) {
+        AccountNumberSequence sequence = sequenceRepository.findByPrefixForUpdate(prefix)
+                .orElseGet(() -> newSequence(prefix));
+
+        long start = sequence.getNextValue();
+        sequence.setNextValue(start + blockSize);
+        sequenceRepository.saveAndFlush(sequence);
+
+        return new Block(start, start + blockSize);
+    }
+
+    private AccountNumberSequence newSequence(String prefix) {
+        // Continue after any account numbers issued before the sequence row existed
+        long nextValue = 1;
+        String lastAccountNumber = accountsRepository.findLastAccountNumberByPrefix(prefix);
+        if (lastAccountNumber != null && lastAccountNumber.startsWith(prefix)) {
+            nextValue = Long.parseLong(lastAccountNumber.substring(prefix.length())) + 1;
+        }
+
+        AccountNumberSequence sequence = new AccountNumberSequence();
+        sequence.setPrefix(prefix);
+        sequence.setNextValue(nextValue);
+        return sequence;
+    }
+
+    private static final class Block {
+        private final AtomicLong cursor;
+        private final long limit;
+
+        private Block(long start, long limit) {
+            this.cursor = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.account_service.account_service.account;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "account_number_sequences")
+public class AccountNumberSequence {
+    @Id
+    private String prefix;
+
+    @Column(nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,13 @@
+package com.account_service.account_service.account;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AccountSearchPage {
+    private List<Account> content;
+    private String nextCursor;
+    /** Only populated when the caller asked for a total count. */
+    private Long totalItems;
+}
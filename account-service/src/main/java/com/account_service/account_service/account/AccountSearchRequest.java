@@ -9,4 +9,6 @@ public class AccountSearchRequest {
     private String cardAlias;
     private int page = 0;
     private int size = 10;
+    private String cursor;
+    private boolean includeCount = false;
 }
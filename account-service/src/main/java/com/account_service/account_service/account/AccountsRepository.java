@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,10 +22,36 @@ public interface AccountsRepository extends JpaRepository<Account, Long> {
                                  @Param("bicSwift") String bicSwift,
                                  Pageable pageable);
 
+    @Query("SELECT a FROM Account a " +
+            "WHERE (:iban IS NULL OR a.iban LIKE %:iban%) " +
+            "AND (:bicSwift IS NULL OR a.bicSwift LIKE %:bicSwift%) " +
+            "AND a.id > :afterId " +
+            "ORDER BY a.id"
+    )
+    List<Account> searchAccountsAfter(@Param("iban") String iban,
+                                      @Param("bicSwift") String bicSwift,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    @Query("SELECT COUNT(a) FROM Account a " +
+            "WHERE (:iban IS NULL OR a.iban LIKE %:iban%) " +
+            "AND (:bicSwift IS NULL OR a.bicSwift LIKE %:bicSwift%) "
+    )
+    long countAccounts(@Param("iban") String iban,
+                       @Param("bicSwift") String bicSwift);
+
     Optional<Account> findByIban(String iban);
 
-    @Query(value = "SELECT account_number FROM account WHERE account_number LIKE (:prefix || '%') ORDER BY account_number DESC LIMIT 1", nativeQuery = true)
+    /**
+     * Highest account number issued under {@code prefix}. Sequences are at
+     * least five digits and grow wider past 99,999, so numbers are ordered by
+     * length before text; text order alone would rank ...99999 above ...100000.
+     */
+    @Query(value = "SELECT account_id FROM accounts WHERE account_id LIKE (:prefix || '%') " +
+            "ORDER BY LENGTH(account_id) DESC, account_id DESC LIMIT 1", nativeQuery = true)
     String findLastAccountNumberByPrefix(@Param("prefix") String prefix);
 
     Optional<Account> findByAccountId(String accountId);
+
+    List<Account> findByAccountIdIn(Collection<String> accountIds);
 }
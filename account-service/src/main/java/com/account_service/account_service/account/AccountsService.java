@@ -1,47 +1,52 @@
 package com.account_service.account_service.account;
 
 import com.account_service.account_service.utilities.EntityResponse;
+import com.account_service.account_service.utilities.SingleFlight;
+import com.account_service.account_service.utilities.exceptions.DownstreamUnavailableException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class AccountsService {
     private final AccountsRepository accountsRepository;
-    private final RestTemplate restTemplate;
+    private final ResilientCustomerClient resilientCustomerClient;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final CustomerExistenceCache customerExistenceCache;
+    private final AccountChangePublisher accountChangePublisher;
+    // Concurrent fetches of one account (e.g. a batch of card issues) share a
+    // query; callers that waited get a detached copy of the entity
+    private final SingleFlight<String, Optional<Account>> accountLookups =
+            new SingleFlight<>(found -> found.map(AccountsService::copyOf));
 
-    @Value("${customer-service.url}")
-    private String customerServiceUrl;
+    @Value("${account-batch.max-ids:500}")
+    private int maxBatchLookupIds = 500;
+
+    @Value("${service-events.token:}")
+    private String eventsToken = "";
 
     public EntityResponse<Account> createAccount(AccountRequest dto) {
         EntityResponse<Account> response = new EntityResponse<>();
 
         try {
             // Validate customer
-            ResponseEntity<EntityResponse<CustomerDto>> customerResponse =
-                    restTemplate.exchange(
-                            customerServiceUrl + "customers?customerId=" + dto.getCustomerId(),
-                            HttpMethod.GET,
-                            null,
-                            new ParameterizedTypeReference<>() {
-                            }
-                    );
-
-            if (!customerResponse.getStatusCode().is2xxSuccessful() || customerResponse.getBody() == null) {
+            if (!customerExistenceCache.exists(dto.getCustomerId(), resilientCustomerClient::customerExists)) {
                 response.setMessage("Customer not found");
                 response.setStatusCode(HttpStatus.NOT_FOUND.value());
                 return response;
@@ -51,8 +56,7 @@ public class AccountsService {
             String bankCode = "11";
             String branchCode = "001";
             String prefix = bankCode + branchCode + LocalDate.now().format(DateTimeFormatter.ofPattern("yyMM"));
-            String lastAccountNumber = accountsRepository.findLastAccountNumberByPrefix(prefix);
-            String accountNumber = generateAccountNumber(bankCode, branchCode, lastAccountNumber);
+            String accountNumber = generateAccountNumber(prefix, accountNumberAllocator.next(prefix));
 
             // Generate IBAN
             String iban = generateIban("KE", bankCode, branchCode, accountNumber);
@@ -76,6 +80,9 @@ public class AccountsService {
             response.setPayload(account);
             response.setMessage("Account created successfully");
             response.setStatusCode(HttpStatus.CREATED.value());
+        } catch (DownstreamUnavailableException ex) {
+            response.setMessage(ex.getMessage());
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE.value());
         } catch (Exception ex) {
             response.setMessage("Error: " + ex.getMessage());
             response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -85,6 +92,30 @@ public class AccountsService {
     }
 
 
+    public EntityResponse<Void> handleCustomerChange(CustomerChangeEvent event, String token) {
+        EntityResponse<Void> response = new EntityResponse<>();
+        if (!validEventsToken(token)) {
+            response.setMessage("Missing or invalid events token");
+            response.setStatusCode(HttpStatus.UNAUTHORIZED.value());
+            return response;
+        }
+        if (event == null || event.getCustomerId() == null) {
+            response.setMessage("customerId is required");
+            response.setStatusCode(HttpStatus.BAD_REQUEST.value());
+            return response;
+        }
+        customerExistenceCache.invalidate(event.getCustomerId());
+        response.setMessage("Customer cache entry invalidated");
+        response.setStatusCode(HttpStatus.ACCEPTED.value());
+        return response;
+    }
+
+    // Without a configured token every event is refused rather than accepted unauthenticated
+    private boolean validEventsToken(String token) {
+        return !eventsToken.isBlank() && token != null
+                && MessageDigest.isEqual(eventsToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
     public String generateIban(String countryCode, String bankCode, String branchCode, String accountNumber) {
         String base = bankCode + branchCode + accountNumber;
         String checkDigits = "29";
@@ -93,17 +124,9 @@ public class AccountsService {
 
 
 
-    public  String generateAccountNumber(String bankCode, String branchCode, String lastAccountNumber) {
-            String datePart = LocalDate.now().format(DateTimeFormatter.ofPattern("yyMM"));
-            int nextNumber = 1;
-
-            if (lastAccountNumber != null && lastAccountNumber.startsWith(bankCode + branchCode + datePart)) {
-                String sequence = lastAccountNumber.substring((bankCode + branchCode + datePart).length());
-                nextNumber = Integer.parseInt(sequence) + 1;
-            }
-
-            return bankCode + branchCode + datePart + String.format("%05d", nextNumber);
-        }
+    public String generateAccountNumber(String prefix, long sequence) {
+        return prefix + String.format("%05d", sequence);
+    }
 
 
 
@@ -111,7 +134,8 @@ public class AccountsService {
         EntityResponse<AccountDto> response = new EntityResponse<>();
 
         try {
-            Optional<Account> optionalAccount = accountsRepository.findByAccountId(accountId);
+            Optional<Account> optionalAccount =
+                    accountLookups.execute(accountId, () -> accountsRepository.findByAccountId(accountId));
 
             if (optionalAccount.isPresent()) {
                 Account account = optionalAccount.get();
@@ -120,14 +144,7 @@ public class AccountsService {
                     response.setMessage("Account has been deleted");
                     response.setStatusCode(HttpStatus.GONE.value());
                 } else {
-                    // Map entity to DTO
-                    AccountDto dto = new AccountDto();
-                    dto.setBicSwift(account.getBicSwift());
-                    dto.setCustomerId(account.getCustomerId());
-                    dto.setAccountId(account.getAccountId());
-
-
-                    response.setPayload(dto);
+                    response.setPayload(toDto(account));
                     response.setMessage("Account fetched successfully");
                     response.setStatusCode(HttpStatus.OK.value());
                 }
@@ -143,6 +160,58 @@ public class AccountsService {
         return response;
     }
 
+    /**
+     * Looks up many accounts with one IN query. The payload maps each live
+     * accountId to its details; unknown and soft-deleted accounts are left out.
+     */
+    public EntityResponse<Map<String, AccountDto>> batchLookup(List<String> accountIds) {
+        EntityResponse<Map<String, AccountDto>> response = new EntityResponse<>();
+        if (accountIds == null || accountIds.isEmpty()) {
+            response.setMessage("accountIds must not be empty");
+            response.setStatusCode(HttpStatus.BAD_REQUEST.value());
+            return response;
+        }
+        if (accountIds.size() > maxBatchLookupIds) {
+            response.setMessage("At most " + maxBatchLookupIds + " accountIds per lookup");
+            response.setStatusCode(HttpStatus.BAD_REQUEST.value());
+            return response;
+        }
+        try {
+            Map<String, AccountDto> found = new HashMap<>();
+            for (Account account : accountsRepository.findByAccountIdIn(new HashSet<>(accountIds))) {
+                if (!"Y".equalsIgnoreCase(account.getDeletedFlag())) {
+                    found.put(account.getAccountId(), toDto(account));
+                }
+            }
+            response.setPayload(found);
+            response.setMessage("Accounts fetched successfully");
+            response.setStatusCode(HttpStatus.OK.value());
+        } catch (Exception e) {
+            response.setMessage("Error: " + e.getMessage());
+            response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+        return response;
+    }
+
+    AccountDto toDto(Account account) {
+        AccountDto dto = new AccountDto();
+        dto.setBicSwift(account.getBicSwift());
+        dto.setCustomerId(account.getCustomerId());
+        dto.setAccountId(account.getAccountId());
+        return dto;
+    }
+
+    private static Account copyOf(Account account) {
+        Account copy = new Account();
+        copy.setId(account.getId());
+        copy.setIban(account.getIban());
+        copy.setBicSwift(account.getBicSwift());
+        copy.setCustomerId(account.getCustomerId());
+        copy.setAccountId(account.getAccountId());
+        copy.setDeletedFlag(account.getDeletedFlag());
+        return copy;
+    }
+
     public EntityResponse<Account> editAccount(AccountDto accountDto, Long accountId) {
         EntityResponse<Account> response = new EntityResponse<>();
 
@@ -161,6 +230,7 @@ public class AccountsService {
                 existingAccount.setBicSwift(accountDto.getBicSwift());
 
                 accountsRepository.save(existingAccount);
+                accountChangePublisher.publish(existingAccount.getAccountId(), AccountChangeEvent.UPDATED);
 
                 response.setPayload(existingAccount);
                 response.setMessage("Account updated successfully");
@@ -186,6 +256,7 @@ public class AccountsService {
                 Account account = optionalAccount.get();
                 account.setDeletedFlag("Y");
                 accountsRepository.save(account);
+                accountChangePublisher.publish(account.getAccountId(), AccountChangeEvent.DELETED);
 
                 response.setPayload(account);
                 response.setMessage("Account deleted successfully (soft delete)");
@@ -220,4 +291,43 @@ public class AccountsService {
         return response;
     }
 
+    public EntityResponse<AccountSearchPage> searchAccountsByCursor(AccountSearchRequest request) {
+        EntityResponse<AccountSearchPage> response = new EntityResponse<>();
+        try {
+            if (request.getSize() < 1) {
+                throw new IllegalArgumentException("size must be at least 1");
+            }
+            long afterId = AccountSearchCursor.decode(request.getCursor());
+
+            // Fetch one extra row to learn whether another page exists without counting
+            List<Account> rows = accountsRepository.searchAccountsAfter(
+                    request.getIban(),
+                    request.getBicSwift(),
+                    afterId,
+                    PageRequest.of(0, request.getSize() + 1)
+            );
+
+            AccountSearchPage page = new AccountSearchPage();
+            if (rows.size() > request.getSize()) {
+                rows = rows.subList(0, request.getSize());
+                page.setNextCursor(AccountSearchCursor.encode(rows.get(rows.size() - 1).getId()));
+            }
+            page.setContent(rows);
+            if (request.isIncludeCount()) {
+                page.setTotalItems(accountsRepository.countAccounts(request.getIban(), request.getBicSwift()));
+            }
+
+            response.setPayload(page);
+            response.setStatusCode(HttpStatus.OK.value());
+            response.setMessage("Accounts fetched successfully");
+        } catch (IllegalArgumentException e) {
+            response.setMessage(e.getMessage());
+            response.setStatusCode(HttpStatus.BAD_REQUEST.value());
+        } catch (Exception e) {
+            response.setMessage("Error: " + e.getMessage());
+            response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+        return response;
+    }
+
 }
@@ -0,0 +1,94 @@
+package com.account_service.account_service.account;
+
+import com.account_service.account_service.utilities.EntityResponse;
+import com.account_service.account_service.utilities.MicroBatcher;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Customer lookups that are held for batching.window and sent together to
+ * POST customers/batch-lookup, so a burst of account opens costs one round
+ * trip instead of one per request.
+ */
+@Component
+@ConditionalOnProperty(name = "customer-service.client", havingValue = "batched")
+public class BatchingCustomerClient implements CustomerClient, DisposableBean {
+    private final RestTemplate restTemplate;
+    private final String customerServiceUrl;
+    private final Duration timeout;
+    private final MicroBatcher<String, Boolean> batcher;
+
+    public BatchingCustomerClient(RestTemplate restTemplate,
+                                  @Value("${customer-service.url}") String customerServiceUrl,
+                                  @Value("${batching.window:5ms}") Duration window,
+                                  @Value("${batching.max-size:100}") int maxSize,
+                                  @Value("${batching.threads:4}") int threads,
+                                  @Value("${batching.timeout:5s}") Duration timeout) {
+        this.restTemplate = restTemplate;
+        this.customerServiceUrl = customerServiceUrl;
+        this.timeout = timeout;
+        this.batcher = new MicroBatcher<>(this::lookupAll,
+                Executors.newScheduledThreadPool(threads, new CustomizableThreadFactory("customer-batch-")),
+                window, maxSize);
+    }
+
+    @Override
+    public boolean customerExists(String customerId) {
+        if (customerId == null) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(batcher.submit(customerId).get(timeout.toNanos(), TimeUnit.NANOSECONDS));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResourceAccessException("Timed out waiting for customer batch lookup");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for customer batch lookup", e);
+        }
+    }
+
+    Map<String, Boolean> lookupAll(Set<String> customerIds) {
+        ResponseEntity<EntityResponse<Map<String, CustomerDto>>> response =
+                restTemplate.exchange(
+                        customerServiceUrl + "customers/batch-lookup",
+                        HttpMethod.POST,
+                        new HttpEntity<>(Map.of("customerIds", new ArrayList<>(customerIds))),
+                        new ParameterizedTypeReference<>() {
+                        }
+                );
+        Map<String, CustomerDto> found = response.getBody() != null && response.getBody().getPayload() != null
+                ? response.getBody().getPayload()
+                : Map.of();
+        Map<String, Boolean> exists = new HashMap<>();
+        for (String customerId : customerIds) {
+            exists.put(customerId, found.containsKey(customerId));
+        }
+        return exists;
+    }
+
+    @Override
+    public void destroy() {
+        batcher.shutdown();
+    }
+}
@@ -0,0 +1,11 @@
+package com.account_service.account_service.account;
+
+import lombok.Data;
+
+@Data
+public class CustomerChangeEvent {
+    public static final String TOKEN_HEADER = "X-Events-Token";
+
+    private String customerId;
+    private String type;
+}
@@ -0,0 +1,14 @@
+package com.account_service.account_service.account;
+
+/**
+ * Lookups against customer-service. The transport is picked with
+ * customer-service.client: rest-template (default), hedged or batched.
+ */
+public interface CustomerClient {
+
+    /**
+     * True when customer-service knows the customer, false on a 404. Other
+     * failures are thrown so callers do not mistake an outage for a miss.
+     */
+    boolean customerExists(String customerId);
+}
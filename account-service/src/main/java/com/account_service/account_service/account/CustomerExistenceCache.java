@@ -0,0 +1,67 @@
+package com.account_service.account_service.account;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of "does this customer exist" answers from customer-service.
+ * Misses are cached too, for a shorter time, so repeated opens against an unknown
+ * customer do not each make the round trip. Entries are dropped when
+ * customer-service reports a change for the customer.
+ */
+@Component
+public class CustomerExistenceCache {
+    private final Cache<String, Boolean> cache;
+
+    public CustomerExistenceCache(
+            @Value("${customer-cache.max-size:10000}") long maxSize,
+            @Value("${customer-cache.ttl:10m}") Duration ttl,
+            @Value("${customer-cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(String key, Boolean exists, long currentTime) {
+                        return (exists ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Boolean exists, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, exists, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Boolean exists, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Returns the cached answer or asks the loader. A loader that throws leaves
+     * nothing cached, so outages are not remembered as "customer not found".
+     */
+    public boolean exists(String customerId, Function<String, Boolean> loader) {
+        if (customerId == null) {
+            return loader.apply(null);
+        }
+        return cache.get(customerId, loader);
+    }
+
+    public void invalidate(String customerId) {
+        if (customerId != null) {
+            cache.invalidate(customerId);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
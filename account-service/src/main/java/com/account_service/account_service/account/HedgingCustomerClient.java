@@ -0,0 +1,59 @@
+package com.account_service.account_service.account;
+
+import com.account_service.account_service.utilities.EntityResponse;
+import com.account_service.account_service.utilities.HedgedRequestExecutor;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Customer lookups that pick customer-service instances themselves so a slow
+ * instance can be hedged against another one. Uses the shared pooled
+ * HttpClient without the load-balancer interceptor.
+ */
+@Component
+@ConditionalOnProperty(name = "customer-service.client", havingValue = "hedged")
+public class HedgingCustomerClient implements CustomerClient {
+    private final HedgedRequestExecutor hedgedRequestExecutor;
+    private final RestTemplate restTemplate;
+    private final String serviceId;
+
+    public HedgingCustomerClient(HedgedRequestExecutor hedgedRequestExecutor,
+                                 HttpClient httpClient,
+                                 ObservationRegistry observationRegistry,
+                                 ClientRequestObservationConvention clientRequestObservationConvention,
+                                 @Value("${customer-service.service-id:customer-service}") String serviceId) {
+        this.hedgedRequestExecutor = hedgedRequestExecutor;
+        this.restTemplate = new RestTemplate(HedgedRequestExecutor.requestFactory(httpClient));
+        this.restTemplate.setObservationRegistry(observationRegistry);
+        this.restTemplate.setObservationConvention(clientRequestObservationConvention);
+        this.serviceId = serviceId;
+    }
+
+    @Override
+    public boolean customerExists(String customerId) {
+        return hedgedRequestExecutor.execute(serviceId, instance -> {
+            try {
+                ResponseEntity<EntityResponse<CustomerDto>> customerResponse =
+                        restTemplate.exchange(
+                                instance + "/customers?customerId=" + customerId,
+                                HttpMethod.GET,
+                                null,
+                                new ParameterizedTypeReference<>() {
+                                }
+                        );
+                return customerResponse.getStatusCode().is2xxSuccessful() && customerResponse.getBody() != null;
+            } catch (HttpClientErrorException.NotFound e) {
+                return false;
+            }
+        });
+    }
+}
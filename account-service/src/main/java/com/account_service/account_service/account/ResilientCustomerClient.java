@@ -0,0 +1,71 @@
+package com.account_service.account_service.account;
+
+import com.account_service.account_service.utilities.SingleFlight;
+import com.account_service.account_service.utilities.exceptions.DownstreamUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Runs customer lookups through the customerService bulkhead and circuit
+ * breaker (configured under resilience4j.*, visible on the circuitbreakers and
+ * bulkheads actuator endpoints). When a call is rejected or fails, the last
+ * answer seen for that customer is used; without one the caller gets a
+ * DownstreamUnavailableException straight away.
+ */
+@Slf4j
+@Component
+public class ResilientCustomerClient {
+    public static final String NAME = "customerService";
+
+    private final CustomerClient customerClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Cache<String, Boolean> lastKnown;
+    private final SingleFlight<String, Boolean> inFlight = new SingleFlight<>();
+
+    public ResilientCustomerClient(CustomerClient customerClient,
+                                   CircuitBreakerRegistry circuitBreakerRegistry,
+                                   BulkheadRegistry bulkheadRegistry,
+                                   @Value("${customer-cache.max-size:10000}") long maxSize,
+                                   @Value("${customer-cache.fallback-ttl:1h}") Duration fallbackTtl) {
+        this.customerClient = customerClient;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(fallbackTtl)
+                .build();
+    }
+
+    public boolean customerExists(String customerId) {
+        // Bulkhead outside the breaker so shed calls do not count as failures
+        Supplier<Boolean> call = Bulkhead.decorateSupplier(bulkhead,
+                CircuitBreaker.decorateSupplier(circuitBreaker, () -> customerClient.customerExists(customerId)));
+        try {
+            // Callers for a customer already being looked up wait for that call
+            // instead of taking another bulkhead slot
+            boolean exists = inFlight.execute(customerId, call);
+            if (customerId != null) {
+                lastKnown.put(customerId, exists);
+            }
+            return exists;
+        } catch (RuntimeException e) {
+            Boolean fallback = customerId != null ? lastKnown.getIfPresent(customerId) : null;
+            if (fallback != null) {
+                log.debug("Customer lookup for {} failed ({}), using last known answer", customerId, e.toString());
+                return fallback;
+            }
+            throw new DownstreamUnavailableException("Customer service unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.account_service.account_service.account;
+
+import com.account_service.account_service.utilities.EntityResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@Component
+@ConditionalOnProperty(name = "customer-service.client", havingValue = "rest-template", matchIfMissing = true)
+public class RestTemplateCustomerClient implements CustomerClient {
+    private final RestTemplate restTemplate;
+    private final String customerServiceUrl;
+
+    public RestTemplateCustomerClient(RestTemplate restTemplate,
+                                      @Value("${customer-service.url}") String customerServiceUrl) {
+        this.restTemplate = restTemplate;
+        this.customerServiceUrl = customerServiceUrl;
+    }
+
+    @Override
+    public boolean customerExists(String customerId) {
+        try {
+            ResponseEntity<EntityResponse<CustomerDto>> customerResponse =
+                    restTemplate.exchange(
+                            customerServiceUrl + "customers?customerId=" + customerId,
+                            HttpMethod.GET,
+                            null,
+                            new ParameterizedTypeReference<>() {
+                            }
+                    );
+            return customerResponse.getStatusCode().is2xxSuccessful() && customerResponse.getBody() != null;
+        } catch (HttpClientErrorException.NotFound e) {
+            return false;
+        }
+    }
+}
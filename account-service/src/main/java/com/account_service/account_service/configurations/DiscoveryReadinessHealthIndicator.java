@@ -0,0 +1,114 @@
+package com.account_service.account_service.configurations;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.netflix.eureka.EurekaClientConfigBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits for the Eureka server in the background instead of holding up
+ * startup. The instance registers as STARTING (eureka.instance.initial-status);
+ * once the application is ready the configured Eureka URLs are probed, backing
+ * off exponentially between attempts, and the first answer switches the
+ * instance to UP, which the Eureka client registers straight away. Until then
+ * this reports OUT_OF_SERVICE, which keeps the readiness group
+ * (/actuator/health/readiness) at 503.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "eureka.client.enabled", matchIfMissing = true)
+public class DiscoveryReadinessHealthIndicator implements HealthIndicator, DisposableBean {
+    private final ApplicationInfoManager applicationInfoManager;
+    private final List<String> eurekaUrls;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final RestTemplate restTemplate;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("discovery-readiness-"));
+
+    private volatile boolean reachable;
+    private volatile int attempts;
+    private volatile String lastError;
+
+    public DiscoveryReadinessHealthIndicator(ApplicationInfoManager applicationInfoManager,
+                                             EurekaClientConfigBean eurekaClientConfig,
+                                             @Value("${discovery-readiness.initial-backoff:500ms}") Duration initialBackoff,
+                                             @Value("${discovery-readiness.max-backoff:30s}") Duration maxBackoff,
+                                             @Value("${discovery-readiness.probe-timeout:2s}") Duration probeTimeout) {
+        this.applicationInfoManager = applicationInfoManager;
+        this.eurekaUrls = eurekaClientConfig.getServiceUrl().values().stream()
+                .flatMap(urls -> Arrays.stream(urls.split(",")))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> url.endsWith("/") ? url : url + "/")
+                .toList();
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(probeTimeout);
+        requestFactory.setReadTimeout(probeTimeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.execute(this::probe);
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = reachable ? Health.up() : Health.outOfService();
+        health.withDetail("attempts", attempts);
+        if (!reachable && lastError != null) {
+            health.withDetail("lastError", lastError);
+        }
+        return health.build();
+    }
+
+    private void probe() {
+        attempts++;
+        for (String url : eurekaUrls) {
+            try {
+                restTemplate.getForObject(url + "apps/", String.class);
+                reachable = true;
+                lastError = null;
+                applicationInfoManager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+                log.info("Eureka server at {} reachable after {} attempt(s); instance marked UP", url, attempts);
+                return;
+            } catch (Exception e) {
+                lastError = url + ": " + e.getMessage();
+            }
+        }
+        Duration backoff = backoff(attempts);
+        log.warn("Eureka server not reachable ({}), attempt {}; retrying in {}", lastError, attempts, backoff);
+        scheduler.schedule(this::probe, backoff.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private Duration backoff(int attempt) {
+        long millis = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+        return Duration.ofMillis(Math.min(millis, maxBackoff.toMillis()));
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,18 @@
+package com.account_service.account_service.configurations;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("fast-start")
+public class FastStartConfig {
+
+    // With spring.main.lazy-initialization on, keep this service's own beans eager: they serve
+    // every request, and creating them pulls in the repositories, JPA and HTTP clients they use
+    @Bean
+    static LazyInitializationExcludeFilter eagerServiceBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType.getName().startsWith("com.account_service.account_service.");
+    }
+}
@@ -0,0 +1,81 @@
+package com.account_service.account_service.configurations;
+
+import com.account_service.account_service.utilities.EntityResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the account package's services. Public methods of @Service classes,
+ * the entry points controllers call, are recorded as service.method; helper
+ * components on the hot path are left alone so they pay no histogram cost.
+ * The calls that leave the service (the CustomerClient in use and account
+ * change publishing) are recorded as service.downstream.
+ * Both carry class and method tags plus an outcome: an EntityResponse result
+ * is tagged with its statusCode and the matching SUCCESS, CLIENT_ERROR or
+ * SERVER_ERROR, a thrown exception with ERROR and its class. Histogram and SLO
+ * buckets are set under management.metrics.distribution.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    public static final String METHOD_TIMER = "service.method";
+    public static final String DOWNSTREAM_TIMER = "service.downstream";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@within(org.springframework.stereotype.Service)"
+            + " && execution(public * com.account_service.account_service.account..*(..))")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(METHOD_TIMER, joinPoint);
+    }
+
+    @Around("execution(* com.account_service.account_service.account.CustomerClient.*(..))"
+            + " || execution(public * com.account_service.account_service.account.AccountChangePublisher.*(..))")
+    public Object timeDownstreamCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(DOWNSTREAM_TIMER, joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Tags tags = Tags.of(
+                "class", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                "method", joinPoint.getSignature().getName());
+        try {
+            Object result = joinPoint.proceed();
+            sample.stop(meterRegistry.timer(name, tags.and(outcome(result)).and("exception", "none")));
+            return result;
+        } catch (Throwable e) {
+            sample.stop(meterRegistry.timer(name, tags
+                    .and("status", "none", "outcome", "ERROR")
+                    .and("exception", e.getClass().getSimpleName())));
+            throw e;
+        }
+    }
+
+    private static Tags outcome(Object result) {
+        if (result instanceof EntityResponse<?> response && response.getStatusCode() != null) {
+            int status = response.getStatusCode();
+            return Tags.of("status", String.valueOf(status), "outcome", outcome(status));
+        }
+        return Tags.of("status", "none", "outcome", "SUCCESS");
+    }
+
+    // Same values as the outcome tag on http.server.requests
+    private static String outcome(int status) {
+        return switch (status / 100) {
+            case 1 -> "INFORMATIONAL";
+            case 2 -> "SUCCESS";
+            case 3 -> "REDIRECTION";
+            case 4 -> "CLIENT_ERROR";
+            case 5 -> "SERVER_ERROR";
+            default -> "UNKNOWN";
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.account_service.account_service.configurations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Streams the JDK's virtual thread pinning events into Micrometer while
+ * spring.threads.virtual.enabled is on. jvm.threads.virtual.pinned times how
+ * long carriers were held (synchronized blocks, native frames in drivers);
+ * jvm.threads.virtual.submit.failed counts virtual threads that could not be
+ * scheduled. Pinning stacks are logged at debug level.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMetrics implements SmartLifecycle {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration pinnedThreshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMetrics(MeterRegistry meterRegistry,
+                                       @Value("${virtual-threads.pinned-threshold:20ms}") Duration pinnedThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.pinnedThreshold = pinnedThreshold;
+    }
+
+    @Override
+    public void start() {
+        if (Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled is set but this JVM is {}; requests stay on platform threads",
+                    Runtime.version());
+            return;
+        }
+        Timer pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier")
+                .register(meterRegistry);
+        Counter submitFailed = Counter.builder("jvm.threads.virtual.submit.failed")
+                .description("Virtual threads that could not be scheduled")
+                .register(meterRegistry);
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(pinnedThreshold).withStackTrace();
+        stream.enable(SUBMIT_FAILED_EVENT);
+        stream.onEvent(PINNED_EVENT, event -> {
+            pinned.record(event.getDuration());
+            if (log.isDebugEnabled() && event.getStackTrace() != null) {
+                StringBuilder frames = new StringBuilder();
+                for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                    frames.append("\n\tat ").append(frame.getMethod().getType().getName())
+                            .append('.').append(frame.getMethod().getName());
+                }
+                log.debug("Virtual thread pinned for {}{}", event.getDuration(), frames);
+            }
+        });
+        stream.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailed.increment());
+        stream.startAsync();
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+}
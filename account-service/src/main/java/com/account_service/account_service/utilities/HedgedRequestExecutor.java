@@ -0,0 +1,251 @@
+package com.account_service.account_service.utilities;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Sends a request to one discovered instance of a service and, if it has not
+ * answered within that instance's recent p95 latency (or failed), sends the
+ * same request to a second instance and takes whichever answers first. Latency is tracked
+ * per instance over the last window-size successful calls, since a failed or
+ * aborted attempt says little about how long an answer takes; until an
+ * instance has min-samples the hedge delay is max-delay.
+ * <p>
+ * Attempts run on the given executor, which should be bounded: when it rejects
+ * an attempt the call goes unhedged rather than queueing. A losing attempt is
+ * cancelled and, if its requests came from {@link #requestFactory}, its HTTP
+ * request is aborted so the thread and pooled connection come back at once
+ * instead of at the read timeout.
+ */
+public class HedgedRequestExecutor {
+    // The attempt running on this thread, so requests it starts can be aborted when it loses
+    private static final ThreadLocal<Attempt> CURRENT_ATTEMPT = new ThreadLocal<>();
+
+    private final DiscoveryClient discoveryClient;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final int windowSize;
+    private final int minSamples;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    // Per service, then per instance; instances that leave discovery are dropped on the next call
+    private final Map<String, Map<URI, LatencyWindow>> latencies = new ConcurrentHashMap<>();
+    private final AtomicInteger nextInstance = new AtomicInteger();
+
+    public HedgedRequestExecutor(DiscoveryClient discoveryClient, MeterRegistry meterRegistry, ExecutorService executor,
+                                 int windowSize, int minSamples, Duration minDelay, Duration maxDelay) {
+        this.discoveryClient = discoveryClient;
+        this.meterRegistry = meterRegistry;
+        this.executor = executor;
+        this.windowSize = windowSize;
+        this.minSamples = minSamples;
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Runs call against the base URI of an instance of serviceId. Exceptions
+     * thrown by the call are rethrown once every attempt has failed.
+     */
+    public <T> T execute(String serviceId, Function<URI, T> call) {
+        List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
+        if (instances.isEmpty()) {
+            throw new IllegalStateException("No instances of " + serviceId + " are registered");
+        }
+        Map<URI, LatencyWindow> windows = latencies.computeIfAbsent(serviceId, key -> new ConcurrentHashMap<>());
+        windows.keySet().retainAll(instances.stream().map(ServiceInstance::getUri).toList());
+        int start = Math.floorMod(nextInstance.getAndIncrement(), instances.size());
+        URI primary = instances.get(start).getUri();
+        if (instances.size() == 1) {
+            return timed(windows, primary, call);
+        }
+        URI backup = instances.get((start + 1) % instances.size()).getUri();
+
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<T>, Attempt> attempts = new LinkedHashMap<>();
+        Future<T> primaryAttempt;
+        try {
+            primaryAttempt = submit(completion, attempts, windows, primary, call);
+        } catch (RejectedExecutionException e) {
+            // Every hedging thread is busy, call on this thread without a hedge
+            meterRegistry.counter("downstream.hedge.rejected", "service", serviceId).increment();
+            return timed(windows, primary, call);
+        }
+        try {
+            RuntimeException failure = null;
+            Future<T> first = completion.poll(hedgeDelay(serviceId, primary).toNanos(), TimeUnit.NANOSECONDS);
+            if (first != null) {
+                try {
+                    return first.get();
+                } catch (ExecutionException e) {
+                    // Failed fast, the other instance may still answer
+                    failure = unwrap(e);
+                }
+            }
+            int pending = first == null ? 1 : 0;
+            try {
+                submit(completion, attempts, windows, backup, call);
+                meterRegistry.counter("downstream.hedge.sent", "service", serviceId).increment();
+                pending++;
+            } catch (RejectedExecutionException e) {
+                meterRegistry.counter("downstream.hedge.rejected", "service", serviceId).increment();
+                if (first != null) {
+                    return timed(windows, backup, call);
+                }
+            }
+
+            for (int i = 0; i < pending; i++) {
+                Future<T> done = completion.take();
+                try {
+                    T result = done.get();
+                    if (done != primaryAttempt) {
+                        meterRegistry.counter("downstream.hedge.won", "service", serviceId).increment();
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    failure = unwrap(e);
+                }
+            }
+            throw failure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted calling " + serviceId, e);
+        } finally {
+            attempts.forEach((future, attempt) -> {
+                if (!future.isDone()) {
+                    future.cancel(true);
+                    attempt.cancel();
+                }
+            });
+        }
+    }
+
+    /**
+     * A request factory over httpClient whose requests are aborted when the
+     * hedged attempt that sent them loses or is cancelled.
+     */
+    public static ClientHttpRequestFactory requestFactory(HttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient) {
+            @Override
+            protected ClassicHttpRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+                ClassicHttpRequest request = super.createHttpUriRequest(httpMethod, uri);
+                Attempt attempt = CURRENT_ATTEMPT.get();
+                if (attempt != null && request instanceof HttpUriRequest abortable) {
+                    attempt.onCancel(abortable::abort);
+                }
+                return request;
+            }
+        };
+    }
+
+    /**
+     * How long to wait on target before hedging: its recent p95, clamped to
+     * [min-delay, max-delay].
+     */
+    public Duration hedgeDelay(String serviceId, URI target) {
+        LatencyWindow window = latencies.getOrDefault(serviceId, Map.of()).get(target);
+        long p95 = window != null ? window.percentile(0.95, minSamples) : -1;
+        if (p95 < 0) {
+            return maxDelay;
+        }
+        return Duration.ofNanos(Math.max(minDelay.toNanos(), Math.min(maxDelay.toNanos(), p95)));
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T timed(Map<URI, LatencyWindow> windows, URI target, Function<URI, T> call) {
+        long started = System.nanoTime();
+        T result = call.apply(target);
+        windows.computeIfAbsent(target, key -> new LatencyWindow(windowSize))
+                .record(System.nanoTime() - started);
+        return result;
+    }
+
+    private <T> Future<T> submit(CompletionService<T> completion, Map<Future<T>, Attempt> attempts,
+                                 Map<URI, LatencyWindow> windows, URI target, Function<URI, T> call) {
+        Attempt attempt = new Attempt();
+        Future<T> future = completion.submit(() -> {
+            CURRENT_ATTEMPT.set(attempt);
+            try {
+                return timed(windows, target, call);
+            } finally {
+                CURRENT_ATTEMPT.remove();
+            }
+        });
+        attempts.put(future, attempt);
+        return future;
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    private static final class Attempt {
+        private Runnable abort;
+        private boolean cancelled;
+
+        synchronized void onCancel(Runnable abort) {
+            if (cancelled) {
+                abort.run();
+            } else {
+                this.abort = abort;
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (abort != null) {
+                abort.run();
+            }
+        }
+    }
+
+    private static final class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        long percentile(double quantile, int minSamples) {
+            long[] sorted;
+            synchronized (this) {
+                if (count < minSamples) {
+                    return -1;
+                }
+                sorted = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(sorted);
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+    }
+}
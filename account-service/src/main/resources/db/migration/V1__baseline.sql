@@ -0,0 +1,16 @@
+-- Schema as ddl-auto=update creates it; databases that already have it are baselined at this version
+create table account_number_sequences (
+    next_value bigint not null,
+    prefix varchar(255) not null,
+    primary key (prefix)
+);
+
+create table accounts (
+    id bigserial not null,
+    account_id varchar(255),
+    bic_swift varchar(255),
+    customer_id varchar(255),
+    deleted_flag varchar(255),
+    iban varchar(255),
+    primary key (id)
+);
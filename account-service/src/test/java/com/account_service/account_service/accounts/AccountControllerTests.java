@@ -133,4 +133,27 @@ public class AccountControllerTests {
         assertEquals(size, captured.getSize());
     }
 
+    @Test
+    void searchAccountsByCursor_shouldReturnResponseFromService() {
+        EntityResponse<AccountSearchPage> responseFromService = new EntityResponse<>();
+        responseFromService.setStatusCode(200);
+        responseFromService.setPayload(new AccountSearchPage());
+
+        when(accountsService.searchAccountsByCursor(any(AccountSearchRequest.class))).thenReturn(responseFromService);
+
+        ResponseEntity<?> response = accountController.searchAccountsByCursor("IBAN123", null, "cursor", 20, true);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(responseFromService, response.getBody());
+
+        ArgumentCaptor<AccountSearchRequest> captor = ArgumentCaptor.forClass(AccountSearchRequest.class);
+        verify(accountsService).searchAccountsByCursor(captor.capture());
+
+        AccountSearchRequest captured = captor.getValue();
+        assertEquals("IBAN123", captured.getIban());
+        assertEquals("cursor", captured.getCursor());
+        assertEquals(20, captured.getSize());
+        assertTrue(captured.isIncludeCount());
+    }
+
 }
@@ -0,0 +1,98 @@
+package com.account_service.account_service.accounts;
+
+import com.account_service.account_service.account.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AccountNumberAllocatorTests {
+    @Mock
+    private AccountNumberSequenceRepository sequenceRepository;
+
+    @Mock
+    private AccountsRepository accountsRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private AccountNumberAllocator allocator;
+
+    private final Map<String, AccountNumberSequence> table = new HashMap<>();
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(allocator, "blockSize", 10);
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        when(sequenceRepository.findByPrefixForUpdate(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(table.get(invocation.<String>getArgument(0))));
+        when(sequenceRepository.saveAndFlush(any(AccountNumberSequence.class)))
+                .thenAnswer(invocation -> {
+                    AccountNumberSequence sequence = invocation.getArgument(0);
+                    table.put(sequence.getPrefix(), sequence);
+                    return sequence;
+                });
+    }
+
+    @Test
+    void next_startsAtOneForNewPrefix() {
+        when(accountsRepository.findLastAccountNumberByPrefix("110012505")).thenReturn(null);
+
+        assertEquals(1L, allocator.next("110012505"));
+        assertEquals(2L, allocator.next("110012505"));
+        assertEquals(11L, table.get("110012505").getNextValue());
+    }
+
+    @Test
+    void next_continuesAfterExistingAccountNumbers() {
+        when(accountsRepository.findLastAccountNumberByPrefix("110012505")).thenReturn("11001250500007");
+
+        assertEquals(8L, allocator.next("110012505"));
+    }
+
+    @Test
+    void next_reservesNewBlockOnlyWhenExhausted() {
+        for (long expected = 1; expected <= 25; expected++) {
+            assertEquals(expected, allocator.next("110012505"));
+        }
+
+        verify(sequenceRepository, times(3)).saveAndFlush(any(AccountNumberSequence.class));
+        verify(accountsRepository, times(1)).findLastAccountNumberByPrefix("110012505");
+    }
+
+    @Test
+    void next_concurrentCallersNeverShareANumber() throws Exception {
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    issued.add(allocator.next("110012505"));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(threads * perThread, issued.size());
+    }
+}
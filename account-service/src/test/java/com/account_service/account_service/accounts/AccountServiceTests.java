@@ -7,20 +7,39 @@ import com.account_service.account_service.account.*;
 import com.account_service.account_service.utilities.EntityResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.mockito.*;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.*;
 import org.springframework.http.*;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.*;
 public class AccountServiceTests {
     @Mock
     private AccountsRepository accountsRepository;
 
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+
+    private final CustomerClient customerClient = new RestTemplateCustomerClient(restTemplate, "http://test-url/");
+
+    @Spy
+    private ResilientCustomerClient resilientCustomerClient = new ResilientCustomerClient(customerClient,
+            CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), 100, Duration.ofHours(1));
+
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
     @Mock
-    private RestTemplate restTemplate;
+    private AccountChangePublisher accountChangePublisher;
+
+    @Spy
+    private CustomerExistenceCache customerExistenceCache =
+            new CustomerExistenceCache(100, Duration.ofMinutes(10), Duration.ofSeconds(30));
 
     @InjectMocks
     private AccountsService accountsService;
@@ -28,8 +47,6 @@ public class AccountServiceTests {
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
-        // Inject the URL property manually (simulate @Value)
-        ReflectionTestUtils.setField(accountsService, "customerServiceUrl", "http://test-url/");
     }
 
     @Test
@@ -52,8 +69,8 @@ public class AccountServiceTests {
                 any(ParameterizedTypeReference.class)))
                 .thenReturn(customerResponseEntity);
 
-        // Mock findLastAccountNumberByPrefix (to generate next account number)
-        when(accountsRepository.findLastAccountNumberByPrefix(anyString())).thenReturn(null);
+        // Mock the allocator handing out the next account number sequence
+        when(accountNumberAllocator.next(anyString())).thenReturn(1L);
 
         // Since IBAN is generated inside service, mock findByIban to return empty Optional
         when(accountsRepository.findByIban(anyString())).thenReturn(Optional.empty());
@@ -77,6 +94,7 @@ public class AccountServiceTests {
         verify(restTemplate).exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
         verify(accountsRepository).findByIban(anyString());
         verify(accountsRepository).save(any(Account.class));
+        verify(accountsRepository, never()).findLastAccountNumberByPrefix(anyString());
     }
 
     @Test
@@ -113,8 +131,8 @@ public class AccountServiceTests {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
                 .thenReturn(customerResponseEntity);
 
-        // Mock findLastAccountNumberByPrefix returns some last account number for sequence increment
-        when(accountsRepository.findLastAccountNumberByPrefix(anyString())).thenReturn("1100192500001");
+        // Mock the allocator handing out the next account number sequence
+        when(accountNumberAllocator.next(anyString())).thenReturn(2L);
 
         // Mock that IBAN exists
         when(accountsRepository.findByIban(anyString())).thenReturn(Optional.of(new Account()));
@@ -137,8 +155,13 @@ public class AccountServiceTests {
 
         EntityResponse<Account> response = accountsService.createAccount(request);
 
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatusCode());
-        assertTrue(response.getMessage().contains("Error:"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatusCode());
+        assertEquals("Customer service unavailable", response.getMessage());
+    }
+
+    @Test
+    void generateAccountNumber_padsSequence() {
+        assertEquals("110012505" + "00042", accountsService.generateAccountNumber("110012505", 42));
     }
 
     // -- fetchAccountById tests --
@@ -207,6 +230,7 @@ public class AccountServiceTests {
         Account existingAccount = new Account();
         existingAccount.setDeletedFlag("N");
         existingAccount.setId(1L);
+        existingAccount.setAccountId("1100125050001");
         existingAccount.setBicSwift("OLD_BIC");
 
         when(accountsRepository.findById(1L)).thenReturn(Optional.of(existingAccount));
@@ -220,6 +244,7 @@ public class AccountServiceTests {
         assertEquals(HttpStatus.OK.value(), response.getStatusCode());
         assertEquals("Account updated successfully", response.getMessage());
         assertEquals("NEW_BIC", response.getPayload().getBicSwift());
+        verify(accountChangePublisher).publish("1100125050001", AccountChangeEvent.UPDATED);
     }
 
     @Test
@@ -282,6 +307,7 @@ public class AccountServiceTests {
         assertEquals(HttpStatus.OK.value(), response.getStatusCode());
         assertEquals("Account deleted successfully (soft delete)", response.getMessage());
         assertEquals("Y", response.getPayload().getDeletedFlag());
+        verify(accountChangePublisher).publish(account.getAccountId(), AccountChangeEvent.DELETED);
     }
 
     @Test
@@ -341,4 +367,169 @@ public class AccountServiceTests {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatusCode());
         assertTrue(response.getMessage().contains("Error:"));
     }
+
+    // -- searchAccountsByCursor tests --
+
+    private Account accountWithId(long id) {
+        Account account = new Account();
+        account.setId(id);
+        return account;
+    }
+
+    @Test
+    void searchAccountsByCursor_returnsNextCursorWithoutCounting() {
+        AccountSearchRequest request = new AccountSearchRequest();
+        request.setSize(2);
+
+        when(accountsRepository.searchAccountsAfter(isNull(), isNull(), eq(0L), any(Pageable.class)))
+                .thenReturn(new ArrayList<>(List.of(accountWithId(1), accountWithId(2), accountWithId(3))));
+
+        EntityResponse<AccountSearchPage> response = accountsService.searchAccountsByCursor(request);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(2, response.getPayload().getContent().size());
+        assertEquals(2L, AccountSearchCursor.decode(response.getPayload().getNextCursor()));
+        assertNull(response.getPayload().getTotalItems());
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(accountsRepository).searchAccountsAfter(isNull(), isNull(), eq(0L), pageable.capture());
+        assertEquals(3, pageable.getValue().getPageSize());
+        verify(accountsRepository, never()).countAccounts(any(), any());
+    }
+
+    @Test
+    void searchAccountsByCursor_lastPageHasNoCursorAndOptionalCount() {
+        AccountSearchRequest request = new AccountSearchRequest();
+        request.setIban("KE29");
+        request.setSize(5);
+        request.setCursor(AccountSearchCursor.encode(40L));
+        request.setIncludeCount(true);
+
+        when(accountsRepository.searchAccountsAfter(eq("KE29"), isNull(), eq(40L), any(Pageable.class)))
+                .thenReturn(List.of(accountWithId(41)));
+        when(accountsRepository.countAccounts("KE29", null)).thenReturn(41L);
+
+        EntityResponse<AccountSearchPage> response = accountsService.searchAccountsByCursor(request);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(1, response.getPayload().getContent().size());
+        assertNull(response.getPayload().getNextCursor());
+        assertEquals(41L, response.getPayload().getTotalItems());
+    }
+
+    @Test
+    void searchAccountsByCursor_invalidCursor() {
+        AccountSearchRequest request = new AccountSearchRequest();
+        request.setCursor("not-a-cursor");
+
+        EntityResponse<AccountSearchPage> response = accountsService.searchAccountsByCursor(request);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertEquals("Invalid cursor", response.getMessage());
+        verify(accountsRepository, never()).searchAccountsAfter(any(), any(), anyLong(), any());
+    }
+
+    private void stubCustomerFound() {
+        EntityResponse<CustomerDto> customerResponseBody = new EntityResponse<>();
+        customerResponseBody.setStatusCode(200);
+        customerResponseBody.setPayload(new CustomerDto());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(customerResponseBody, HttpStatus.OK));
+        when(accountNumberAllocator.next(anyString())).thenReturn(1L, 2L, 3L);
+        when(accountsRepository.findByIban(anyString())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void createAccount_reusesCachedCustomerLookup() {
+        stubCustomerFound();
+        AccountRequest request = new AccountRequest();
+        request.setCustomerId("CUS-1");
+
+        assertEquals(HttpStatus.CREATED.value(), accountsService.createAccount(request).getStatusCode());
+        assertEquals(HttpStatus.CREATED.value(), accountsService.createAccount(request).getStatusCode());
+
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void createAccount_cachesCustomerNotFound() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+        AccountRequest request = new AccountRequest();
+        request.setCustomerId("CUS-404");
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), accountsService.createAccount(request).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND.value(), accountsService.createAccount(request).getStatusCode());
+
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+        verify(accountsRepository, never()).save(any());
+    }
+
+    @Test
+    void handleCustomerChange_evictsCachedAnswer() {
+        stubCustomerFound();
+        AccountRequest request = new AccountRequest();
+        request.setCustomerId("CUS-1");
+        accountsService.createAccount(request);
+
+        CustomerChangeEvent event = new CustomerChangeEvent();
+        event.setCustomerId("CUS-1");
+        event.setType("DELETED");
+        ReflectionTestUtils.setField(accountsService, "eventsToken", "secret");
+        EntityResponse<Void> response = accountsService.handleCustomerChange(event, "secret");
+        accountsService.createAccount(request);
+
+        assertEquals(HttpStatus.ACCEPTED.value(), response.getStatusCode());
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void handleCustomerChange_requiresCustomerId() {
+        ReflectionTestUtils.setField(accountsService, "eventsToken", "secret");
+        EntityResponse<Void> response = accountsService.handleCustomerChange(new CustomerChangeEvent(), "secret");
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+    }
+
+    @Test
+    void handleCustomerChange_rejectsMissingOrWrongToken() {
+        CustomerChangeEvent event = new CustomerChangeEvent();
+        event.setCustomerId("CUS-1");
+
+        // No token configured: nothing is accepted
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), accountsService.handleCustomerChange(event, "").getStatusCode());
+
+        ReflectionTestUtils.setField(accountsService, "eventsToken", "secret");
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), accountsService.handleCustomerChange(event, null).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), accountsService.handleCustomerChange(event, "guess").getStatusCode());
+        verify(customerExistenceCache, never()).invalidate(anyString());
+    }
+
+    @Test
+    void batchLookup_returnsLiveAccountsFromOneQuery() {
+        Account live = new Account();
+        live.setAccountId("A1");
+        live.setCustomerId("C1");
+        live.setDeletedFlag("N");
+        Account deleted = new Account();
+        deleted.setAccountId("A2");
+        deleted.setDeletedFlag("Y");
+        when(accountsRepository.findByAccountIdIn(Set.of("A1", "A2", "A3"))).thenReturn(List.of(live, deleted));
+
+        EntityResponse<Map<String, AccountDto>> response = accountsService.batchLookup(List.of("A1", "A2", "A3", "A1"));
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(Set.of("A1"), response.getPayload().keySet());
+        assertEquals("C1", response.getPayload().get("A1").getCustomerId());
+        verify(accountsRepository, never()).findByAccountId(anyString());
+    }
+
+    @Test
+    void batchLookup_rejectsEmptyAndOversizedRequests() {
+        ReflectionTestUtils.setField(accountsService, "maxBatchLookupIds", 2);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), accountsService.batchLookup(List.of()).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), accountsService.batchLookup(List.of("A1", "A2", "A3")).getStatusCode());
+        verify(accountsRepository, never()).findByAccountIdIn(any());
+    }
 }
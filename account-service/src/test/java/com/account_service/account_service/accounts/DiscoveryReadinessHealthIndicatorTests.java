@@ -0,0 +1,100 @@
+package com.account_service.account_service.accounts;
+
+import com.account_service.account_service.configurations.DiscoveryReadinessHealthIndicator;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.cloud.netflix.eureka.EurekaClientConfigBean;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DiscoveryReadinessHealthIndicatorTests {
+    private final ApplicationInfoManager applicationInfoManager = mock(ApplicationInfoManager.class);
+    private final int port = freePort();
+    private HttpServer eureka;
+    private DiscoveryReadinessHealthIndicator indicator;
+
+    @AfterEach
+    void tearDown() {
+        if (indicator != null) {
+            indicator.destroy();
+        }
+        if (eureka != null) {
+            eureka.stop(0);
+        }
+    }
+
+    @Test
+    void health_outOfServiceUntilEurekaAnswersThenMarksInstanceUp() throws Exception {
+        indicator = indicator();
+        indicator.start();
+
+        Thread.sleep(200);
+        Health waiting = indicator.health();
+        assertEquals(Status.OUT_OF_SERVICE, waiting.getStatus());
+        assertTrue((int) waiting.getDetails().get("attempts") >= 2);
+        assertNotNull(waiting.getDetails().get("lastError"));
+        verify(applicationInfoManager, never()).setInstanceStatus(any());
+
+        startEureka();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (indicator.health().getStatus() != Status.UP && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(Status.UP, indicator.health().getStatus());
+        verify(applicationInfoManager).setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+    }
+
+    @Test
+    void health_upAfterFirstProbeWhenEurekaIsAlreadyRunning() throws Exception {
+        startEureka();
+        indicator = indicator();
+        indicator.start();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (indicator.health().getStatus() != Status.UP && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(Status.UP, indicator.health().getStatus());
+        assertEquals(1, indicator.health().getDetails().get("attempts"));
+    }
+
+    private DiscoveryReadinessHealthIndicator indicator() {
+        EurekaClientConfigBean config = new EurekaClientConfigBean();
+        config.setServiceUrl(Map.of(EurekaClientConfigBean.DEFAULT_ZONE, "http://localhost:" + port + "/eureka/"));
+        return new DiscoveryReadinessHealthIndicator(applicationInfoManager, config,
+                Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(500));
+    }
+
+    private void startEureka() throws IOException {
+        eureka = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        eureka.createContext("/eureka/apps/", exchange -> {
+            byte[] body = "<applications/>".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        eureka.start();
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.account_service.account_service.accounts;
+
+import com.account_service.account_service.utilities.FileSpanExporter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileSpanExporterTests {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void export_writesOneLinePerSpanWithParentAndService() throws Exception {
+        Path file = directory.resolve("logs/spans.ndjson");
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.create(Attributes.of(
+                        AttributeKey.stringKey("service.name"), "account-service")))
+                .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(file)))
+                .build();
+        Tracer tracer = tracerProvider.get("test");
+
+        Span parent = tracer.spanBuilder("http post /accounts").startSpan();
+        try (Scope ignored = parent.makeCurrent()) {
+            tracer.spanBuilder("AccountsRepository.save")
+                    .setAttribute("repository", "AccountsRepository")
+                    .startSpan()
+                    .end();
+        } finally {
+            parent.end();
+        }
+        tracerProvider.shutdown().join(5, TimeUnit.SECONDS);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode child = objectMapper.readTree(lines.get(0));
+        JsonNode root = objectMapper.readTree(lines.get(1));
+
+        assertEquals("AccountsRepository.save", child.get("name").asText());
+        assertEquals("account-service", child.get("service").asText());
+        assertEquals("AccountsRepository", child.get("attributes").get("repository").asText());
+        assertEquals(root.get("traceId").asText(), child.get("traceId").asText());
+        assertEquals(root.get("spanId").asText(), child.get("parentSpanId").asText());
+        assertTrue(root.get("parentSpanId").isNull());
+        assertTrue(root.get("durationMicros").asLong() >= child.get("durationMicros").asLong());
+    }
+
+    @Test
+    void export_appendsToExistingFile() throws Exception {
+        Path file = directory.resolve("spans.ndjson");
+        Files.writeString(file, "{}\n");
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(file)))
+                .build();
+
+        tracerProvider.get("test").spanBuilder("span").startSpan().end();
+        tracerProvider.shutdown().join(5, TimeUnit.SECONDS);
+
+        assertEquals(2, Files.readAllLines(file).size());
+    }
+}
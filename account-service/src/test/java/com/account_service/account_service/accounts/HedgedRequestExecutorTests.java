@@ -0,0 +1,164 @@
+package com.account_service.account_service.accounts;
+
+import com.account_service.account_service.utilities.HedgedRequestExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class HedgedRequestExecutorTests {
+    private static final URI SLOW = URI.create("http://10.0.0.1:8083");
+    private static final URI FAST = URI.create("http://10.0.0.2:8083");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DiscoveryClient discoveryClient;
+    private HedgedRequestExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        discoveryClient = discoveryClient();
+        executor = new HedgedRequestExecutor(discoveryClient, meterRegistry, Executors.newCachedThreadPool(),
+                10, 3, Duration.ofMillis(10), Duration.ofMillis(50));
+    }
+
+    private static DiscoveryClient discoveryClient() {
+        DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+        List<ServiceInstance> instances = List.of(
+                new DefaultServiceInstance("a", "customer-service", "10.0.0.1", 8083, false),
+                new DefaultServiceInstance("b", "customer-service", "10.0.0.2", 8083, false));
+        when(discoveryClient.getInstances("customer-service")).thenReturn(instances);
+        return discoveryClient;
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private static String answer(URI instance) {
+        if (instance.equals(SLOW)) {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return instance.getHost();
+    }
+
+    @Test
+    void execute_hedgesToSecondInstanceWhenFirstIsSlow() {
+        // First call starts on the slow instance
+        long started = System.nanoTime();
+        String result = executor.execute("customer-service", HedgedRequestExecutorTests::answer);
+
+        assertEquals("10.0.0.2", result);
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 1000);
+        assertEquals(1.0, meterRegistry.counter("downstream.hedge.sent", "service", "customer-service").count());
+        assertEquals(1.0, meterRegistry.counter("downstream.hedge.won", "service", "customer-service").count());
+    }
+
+    @Test
+    void execute_retriesOtherInstanceWhenFirstFailsFast() {
+        String result = executor.execute("customer-service", instance -> {
+            if (instance.equals(SLOW)) {
+                throw new ResourceAccessException("connection refused");
+            }
+            return instance.getHost();
+        });
+
+        assertEquals("10.0.0.2", result);
+    }
+
+    @Test
+    void execute_rethrowsWhenEveryInstanceFails() {
+        assertThrows(ResourceAccessException.class, () -> executor.execute("customer-service", instance -> {
+            throw new ResourceAccessException("connection refused");
+        }));
+    }
+
+    @Test
+    void execute_callsOnCallerThreadWithoutHedgingWhenExecutorIsFull() throws Exception {
+        ThreadPoolExecutor full = new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS, new SynchronousQueue<>());
+        CountDownLatch release = new CountDownLatch(1);
+        full.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        HedgedRequestExecutor bounded = new HedgedRequestExecutor(discoveryClient(), meterRegistry, full,
+                10, 3, Duration.ofMillis(10), Duration.ofMillis(50));
+        try {
+            Thread caller = Thread.currentThread();
+            String result = bounded.execute("customer-service",
+                    instance -> Thread.currentThread() == caller ? instance.getHost() : "other thread");
+
+            assertEquals("10.0.0.1", result);
+            assertEquals(1.0, meterRegistry.counter("downstream.hedge.rejected", "service", "customer-service").count());
+            assertEquals(0.0, meterRegistry.counter("downstream.hedge.sent", "service", "customer-service").count());
+        } finally {
+            release.countDown();
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void hedgeDelay_followsRecentP95WithinBounds() {
+        assertEquals(Duration.ofMillis(50), executor.hedgeDelay("customer-service", FAST));
+
+        for (int i = 0; i < 6; i++) {
+            // Alternates instances, so FAST gets three quick samples
+            executor.execute("customer-service", instance -> instance.getHost());
+        }
+
+        assertEquals(Duration.ofMillis(10), executor.hedgeDelay("customer-service", FAST));
+    }
+
+    @Test
+    void hedgeDelay_ignoresFailedAttempts() {
+        for (int i = 0; i < 6; i++) {
+            executor.execute("customer-service", instance -> {
+                if (instance.equals(SLOW)) {
+                    throw new ResourceAccessException("connection refused");
+                }
+                return instance.getHost();
+            });
+        }
+
+        // Quick failures on SLOW say nothing about how long it takes to answer
+        assertEquals(Duration.ofMillis(50), executor.hedgeDelay("customer-service", SLOW));
+        assertEquals(Duration.ofMillis(10), executor.hedgeDelay("customer-service", FAST));
+    }
+
+    @Test
+    void execute_dropsLatencyOfInstancesThatLeftDiscovery() {
+        for (int i = 0; i < 6; i++) {
+            executor.execute("customer-service", instance -> instance.getHost());
+        }
+        when(discoveryClient.getInstances("customer-service")).thenReturn(List.of(
+                new DefaultServiceInstance("a", "customer-service", "10.0.0.1", 8083, false)));
+
+        executor.execute("customer-service", instance -> instance.getHost());
+
+        assertEquals(Duration.ofMillis(50), executor.hedgeDelay("customer-service", FAST));
+        assertEquals(Duration.ofMillis(10), executor.hedgeDelay("customer-service", SLOW));
+    }
+}
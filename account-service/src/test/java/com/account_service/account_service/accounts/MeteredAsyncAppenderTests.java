@@ -0,0 +1,92 @@
+package com.account_service.account_service.accounts;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.account_service.account_service.utilities.MeteredAsyncAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MeteredAsyncAppenderTests {
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final Logger logger = context.getLogger("test");
+    private final CountDownLatch workerBusy = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final MeteredAsyncAppender appender = new MeteredAsyncAppender();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void append_countsEventsDroppedByFullQueue() throws Exception {
+        start(2, 0);
+
+        log(Level.WARN, 4);
+
+        assertEquals(2, appender.getNumberOfElementsInQueue());
+        assertEquals(2, MeteredAsyncAppender.dropped(appender.getName()));
+        assertEquals(0, MeteredAsyncAppender.discarded(appender.getName()));
+    }
+
+    @Test
+    void append_discardsInfoPastThresholdButKeepsWarnings() throws Exception {
+        start(10, 2);
+        log(Level.WARN, 9);
+
+        log(Level.INFO, 1);
+        log(Level.WARN, 1);
+        log(Level.INFO, 1);
+        log(Level.WARN, 1);
+
+        assertEquals(10, appender.getNumberOfElementsInQueue());
+        assertEquals(2, MeteredAsyncAppender.discarded(appender.getName()));
+        assertEquals(1, MeteredAsyncAppender.dropped(appender.getName()));
+    }
+
+    // Starts the appender and parks its worker on the first event, so later events stay queued
+    private void start(int queueSize, int discardingThreshold) throws InterruptedException {
+        AppenderBase<ILoggingEvent> blocked = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                workerBusy.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        blocked.setContext(context);
+        blocked.start();
+
+        appender.setContext(context);
+        appender.setName("test-" + UUID.randomUUID());
+        appender.setQueueSize(queueSize);
+        appender.setDiscardingThreshold(discardingThreshold);
+        appender.setNeverBlock(true);
+        appender.addAppender(blocked);
+        appender.start();
+
+        log(Level.WARN, 1);
+        assertTrue(workerBusy.await(5, TimeUnit.SECONDS));
+    }
+
+    private void log(Level level, int count) {
+        for (int i = 0; i < count; i++) {
+            appender.doAppend(new LoggingEvent(Logger.FQCN, logger, level, "event {}", null, new Object[]{i}));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.account_service.account_service.accounts;
+
+import com.account_service.account_service.utilities.MicroBatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MicroBatcherTests {
+    private final List<Set<String>> batches = new CopyOnWriteArrayList<>();
+    private MicroBatcher<String, Integer> batcher;
+
+    private MicroBatcher<String, Integer> batcher(Duration window, int maxSize, Function<Set<String>, Map<String, Integer>> loader) {
+        batcher = new MicroBatcher<>(keys -> {
+            batches.add(new HashSet<>(keys));
+            return loader.apply(keys);
+        }, Executors.newScheduledThreadPool(2), window, maxSize);
+        return batcher;
+    }
+
+    private static Map<String, Integer> lengths(Set<String> keys) {
+        Map<String, Integer> values = new HashMap<>();
+        keys.stream().filter(key -> !key.startsWith("missing")).forEach(key -> values.put(key, key.length()));
+        return values;
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void submit_coalescesKeysWithinWindowIntoOneCall() throws Exception {
+        MicroBatcher<String, Integer> batcher = batcher(Duration.ofMillis(50), 100, MicroBatcherTests::lengths);
+
+        CompletableFuture<Integer> a = batcher.submit("a");
+        CompletableFuture<Integer> bb = batcher.submit("bb");
+        CompletableFuture<Integer> sameA = batcher.submit("a");
+        CompletableFuture<Integer> missing = batcher.submit("missing-1");
+
+        assertEquals(1, a.get(1, TimeUnit.SECONDS));
+        assertEquals(2, bb.get(1, TimeUnit.SECONDS));
+        assertSame(a, sameA);
+        assertNull(missing.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(Set.of("a", "bb", "missing-1")), batches);
+    }
+
+    @Test
+    void submit_sendsFullBatchWithoutWaitingForWindow() throws Exception {
+        MicroBatcher<String, Integer> batcher = batcher(Duration.ofMinutes(1), 2, MicroBatcherTests::lengths);
+
+        CompletableFuture<Integer> first = batcher.submit("a");
+        CompletableFuture<Integer> second = batcher.submit("bb");
+
+        assertEquals(1, first.get(1, TimeUnit.SECONDS));
+        assertEquals(2, second.get(1, TimeUnit.SECONDS));
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void submit_failsEveryCallerInBatchWhenBulkCallFails() {
+        MicroBatcher<String, Integer> batcher = batcher(Duration.ofMillis(10), 100, keys -> {
+            throw new IllegalStateException("down");
+        });
+
+        CompletableFuture<Integer> a = batcher.submit("a");
+        CompletableFuture<Integer> b = batcher.submit("b");
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> a.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertThrows(ExecutionException.class, () -> b.get(1, TimeUnit.SECONDS));
+    }
+}
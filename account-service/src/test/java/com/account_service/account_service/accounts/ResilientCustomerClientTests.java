@@ -0,0 +1,68 @@
+package com.account_service.account_service.accounts;
+
+import com.account_service.account_service.account.CustomerClient;
+import com.account_service.account_service.account.ResilientCustomerClient;
+import com.account_service.account_service.utilities.exceptions.DownstreamUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ResilientCustomerClientTests {
+    private CustomerClient customerClient;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ResilientCustomerClient resilientClient;
+
+    @BeforeEach
+    void setup() {
+        customerClient = mock(CustomerClient.class);
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(5)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        resilientClient = new ResilientCustomerClient(customerClient, circuitBreakerRegistry, bulkheadRegistry,
+                100, Duration.ofHours(1));
+    }
+
+    @Test
+    void customerExists_usesLastKnownAnswerWhenDownstreamFails() {
+        when(customerClient.customerExists("CUS-1"))
+                .thenReturn(true)
+                .thenThrow(new ResourceAccessException("read timed out"));
+
+        assertTrue(resilientClient.customerExists("CUS-1"));
+        assertTrue(resilientClient.customerExists("CUS-1"));
+    }
+
+    @Test
+    void customerExists_failsFastOnceCircuitOpens() {
+        when(customerClient.customerExists("CUS-2")).thenThrow(new ResourceAccessException("read timed out"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(DownstreamUnavailableException.class, () -> resilientClient.customerExists("CUS-2"));
+        }
+        assertEquals(CircuitBreaker.State.OPEN,
+                circuitBreakerRegistry.circuitBreaker(ResilientCustomerClient.NAME).getState());
+
+        DownstreamUnavailableException rejected =
+                assertThrows(DownstreamUnavailableException.class, () -> resilientClient.customerExists("CUS-2"));
+        assertInstanceOf(CallNotPermittedException.class, rejected.getCause());
+        verify(customerClient, times(4)).customerExists("CUS-2");
+    }
+}
@@ -0,0 +1,78 @@
+package com.account_service.account_service.accounts;
+
+import com.account_service.account_service.account.AccountDto;
+import com.account_service.account_service.account.AccountsRepository;
+import com.account_service.account_service.account.AccountsService;
+import com.account_service.account_service.account.CustomerClient;
+import com.account_service.account_service.account.CustomerExistenceCache;
+import com.account_service.account_service.configurations.ServiceMetricsAspect;
+import com.account_service.account_service.utilities.EntityResponse;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ServiceMetricsAspectTests {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ServiceMetricsAspect aspect = new ServiceMetricsAspect(meterRegistry);
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+
+    @Test
+    void serviceMethod_isTaggedWithEntityResponseStatus() {
+        AccountsRepository repository = mock(AccountsRepository.class);
+        when(repository.findByAccountId("missing")).thenReturn(Optional.empty());
+        AccountsService accountsService = proxy(new AccountsService(repository, null, null, null, null));
+
+        EntityResponse<AccountDto> response = accountsService.fetchAccountById("missing");
+
+        assertEquals(404, response.getStatusCode());
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METHOD_TIMER)
+                .tags("class", "AccountsService", "method", "fetchAccountById", "status", "404", "outcome", "CLIENT_ERROR")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void downstreamCall_isTaggedWithExceptionWhenItFails() {
+        CustomerClient customerClient = proxy(new FailingCustomerClient());
+
+        assertThrows(IllegalStateException.class, () -> customerClient.customerExists("CUS1"));
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.DOWNSTREAM_TIMER)
+                .tags("method", "customerExists", "outcome", "ERROR", "exception", "IllegalStateException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertNull(meterRegistry.find(ServiceMetricsAspect.METHOD_TIMER).timer());
+    }
+
+    @Test
+    void componentMethod_isNotTimed() {
+        CustomerExistenceCache cache = proxy(new CustomerExistenceCache(10, Duration.ofMinutes(1), Duration.ofSeconds(1)));
+
+        assertTrue(cache.exists("CUS1", id -> true));
+
+        assertNull(meterRegistry.find(ServiceMetricsAspect.METHOD_TIMER).timer());
+    }
+
+    static class FailingCustomerClient implements CustomerClient {
+        @Override
+        public boolean customerExists(String customerId) {
+            throw new IllegalStateException("customer-service down");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# Platform vs virtual thread request handling.
+#
+#   ./run.sh <module> <path>
+#   ./run.sh card-service "/cards/search?cardAlias=gold&size=10"
+#
+# Starts the module's jar twice, once with the default Jetty pool and once with
+# VIRTUAL_THREADS_ENABLED=true (needs a Java 21 runtime), and drives <path>
+# with hey at each concurrency in LEVELS for DURATION. Prints requests/s and
+# p50/p99 per level, and the pinning timer after the virtual-thread run.
+# Postgres and the discovery service must already be up (docker-compose.yml).
+set -euo pipefail
+
+MODULE=${1:?module}
+REQUEST_PATH=${2:?path}
+LEVELS=${LEVELS:-"50 200 800 2000"}
+DURATION=${DURATION:-30s}
+ROOT=$(cd "$(dirname "$0")/../.." && pwd)
+
+case "$MODULE" in
+  account-service) PORT=8086 ;;
+  card-service) PORT=8085 ;;
+  customer-service-application) PORT=8083 ;;
+  *) echo "unknown module $MODULE" >&2; exit 1 ;;
+esac
+BASE="http://localhost:$PORT"
+JAR=$(ls "$ROOT/$MODULE"/target/*.jar | grep -v original | head -1)
+
+start() {
+  VIRTUAL_THREADS_ENABLED=$1 java -jar "$JAR" > "/tmp/$MODULE-vt-$1.log" 2>&1 &
+  PID=$!
+  until curl -sf "$BASE/actuator/health" > /dev/null; do sleep 1; done
+}
+
+drive() {
+  for c in $LEVELS; do
+    hey -z "$DURATION" -c "$c" "$BASE$REQUEST_PATH" | awk -v label="$1" -v c="$c" '
+      /Requests\/sec/ { rps = $2 }
+      /50% in/ { p50 = $3 }
+      /99% in/ { p99 = $3 }
+      END { printf "%-9s c=%-5d rps=%-10s p50=%ss p99=%ss\n", label, c, rps, p50, p99 }'
+  done
+}
+
+start false
+drive platform
+kill "$PID"; wait "$PID" 2>/dev/null || true
+
+start true
+drive virtual
+curl -s "$BASE/actuator/metrics/jvm.threads.virtual.pinned" || echo "(no pinning recorded)"
+echo
+kill "$PID"; wait "$PID" 2>/dev/null || true
@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# JMH microbenchmarks for ID generation, PAN masking and DTO mapping.
+#
+#   ./run.sh                     # run everything, compare with baselines/baseline.json
+#   ./run.sh CardsService        # only benchmarks matching a regex
+#   UPDATE_BASELINE=1 ./run.sh   # run everything and store the result as the new baseline
+#
+# Installs the three services (their poms supply the benchmark classpath),
+# builds target/benchmarks.jar and runs it with the gc profiler so every
+# benchmark also reports gc.alloc.rate.norm (bytes allocated per operation).
+# Exits non-zero when a benchmark regressed; see BaselineCheck for the
+# tolerances. Baselines are only comparable on the machine that recorded them.
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+BENCH="$ROOT/benchmarks"
+RESULTS="$BENCH/target/results.json"
+
+for module in account-service card-service customer-service-application; do
+  (cd "$ROOT/$module" && mvn -B -q -DskipTests install)
+done
+(cd "$BENCH" && mvn -B -q -DskipTests package)
+
+java -jar "$BENCH/target/benchmarks.jar" -prof gc -rf json -rff "$RESULTS" "$@"
+
+if [ "${UPDATE_BASELINE:-0}" = "1" ]; then
+  cp "$RESULTS" "$BENCH/baselines/baseline.json"
+  echo "baseline updated"
+else
+  java -cp "$BENCH/target/benchmarks.jar" com.benchmarks.BaselineCheck "$BENCH/baselines/baseline.json" "$RESULTS"
+fi
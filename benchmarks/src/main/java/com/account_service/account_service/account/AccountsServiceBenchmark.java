@@ -0,0 +1,62 @@
+package com.account_service.account_service.account;
+
+import com.account_service.account_service.utilities.EntityResponse;
+import com.benchmarks.Stubs;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account number and IBAN formatting, and the entity-to-DTO mapping behind
+ * GET /accounts, against an in-memory repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountsServiceBenchmark {
+    private static final String ACCOUNT_ID = "1100125100042";
+
+    private AccountsService accountsService;
+    private Account account;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        account = new Account();
+        account.setId(42L);
+        account.setAccountId(ACCOUNT_ID);
+        account.setCustomerId("CUS202500042");
+        account.setIban("KE29110011001251000042");
+        account.setBicSwift("KCBLKENX");
+        account.setDeletedFlag("N");
+
+        AccountsRepository repository = Stubs.repository(AccountsRepository.class,
+                Map.of("findByAccountId", args -> Optional.of(account)));
+        accountsService = new AccountsService(repository, null, null, null, null);
+    }
+
+    @Benchmark
+    public String generateAccountNumber() {
+        return accountsService.generateAccountNumber("110012510", ++sequence % 100_000);
+    }
+
+    @Benchmark
+    public String generateIban() {
+        return accountsService.generateIban("KE", "11", "001", ACCOUNT_ID);
+    }
+
+    @Benchmark
+    public AccountDto toDto() {
+        return accountsService.toDto(account);
+    }
+
+    @Benchmark
+    public EntityResponse<AccountDto> fetchAccountById() {
+        return accountsService.fetchAccountById(ACCOUNT_ID);
+    }
+}
@@ -0,0 +1,92 @@
+package com.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with a stored baseline and exits non-zero
+ * when a benchmark got slower, or allocates more per operation, than the
+ * baseline allows.
+ *
+ * <pre>
+ *   java -cp target/benchmarks.jar com.benchmarks.BaselineCheck baselines/baseline.json target/results.json
+ * </pre>
+ *
+ * Time is noisy across machines, so it gets the wider tolerance
+ * (-Dbaseline.time-tolerance, default 0.25). Bytes allocated per operation
+ * are close to deterministic (-Dbaseline.alloc-tolerance, default 0.10).
+ * Benchmarks missing from the baseline are reported and not failed.
+ */
+public final class BaselineCheck {
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: BaselineCheck <baseline.json> <results.json>");
+            System.exit(2);
+        }
+        double timeTolerance = Double.parseDouble(System.getProperty("baseline.time-tolerance", "0.25"));
+        double allocTolerance = Double.parseDouble(System.getProperty("baseline.alloc-tolerance", "0.10"));
+
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> results = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode expected = baseline.get(entry.getKey());
+            if (expected == null) {
+                System.out.printf("NEW   %s%n", entry.getKey());
+                continue;
+            }
+            JsonNode actual = entry.getValue();
+            regressions += compare(entry.getKey(), "time",
+                    score(expected.path("primaryMetric")), score(actual.path("primaryMetric")),
+                    actual.path("primaryMetric").path("scoreUnit").asText(), timeTolerance);
+            regressions += compare(entry.getKey(), "alloc",
+                    score(allocNorm(expected)), score(allocNorm(actual)), "B/op", allocTolerance);
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d regression(s) against %s%n", regressions, args[0]);
+            System.exit(1);
+        }
+    }
+
+    private static int compare(String benchmark, String metric, double expected, double actual, String unit, double tolerance) {
+        if (Double.isNaN(expected) || Double.isNaN(actual)) {
+            return 0;
+        }
+        // Allocation-free benchmarks stay allocation-free
+        double limit = expected == 0 ? 0.5 : expected * (1 + tolerance);
+        boolean regressed = actual > limit;
+        System.out.printf("%-5s %s %s: %.2f %s (baseline %.2f)%n",
+                regressed ? "SLOW" : "OK", benchmark, metric, actual, unit, expected);
+        return regressed ? 1 : 0;
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> byName = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            byName.put(result.path("benchmark").asText() + " [" + result.path("mode").asText() + "]", result);
+        }
+        return byName;
+    }
+
+    private static JsonNode allocNorm(JsonNode result) {
+        JsonNode secondary = result.path("secondaryMetrics");
+        // Older JMH versions prefix profiler metrics with a middle dot
+        return secondary.has(ALLOC_NORM) ? secondary.path(ALLOC_NORM) : secondary.path("·" + ALLOC_NORM);
+    }
+
+    private static double score(JsonNode metric) {
+        return metric.has("score") ? metric.path("score").asDouble() : Double.NaN;
+    }
+}
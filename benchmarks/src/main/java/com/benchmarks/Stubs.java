@@ -0,0 +1,43 @@
+package com.benchmarks;
+
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for the Spring Data repositories and transaction
+ * template the benchmarked services depend on, so a benchmark measures the
+ * service code and not a database or a mocking library.
+ */
+public final class Stubs {
+    private Stubs() {
+    }
+
+    /**
+     * A repository whose methods answer from {@code answers}, keyed by method
+     * name and given the call arguments. Any other method throws.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return answer.apply(args);
+        });
+    }
+
+    /** Runs callbacks directly, without a transaction manager. */
+    public static TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate() {
+            @Override
+            public <R> R execute(TransactionCallback<R> action) {
+                return action.doInTransaction(null);
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.card_service.card_service.cards;
+
+import com.benchmarks.Stubs;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card ID and PAN issuing (including the amortised block refill, against an
+ * in-memory sequence table) and PAN masking for search results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardsServiceBenchmark {
+    private SequenceCardIdentifierGenerator generator;
+    private CardsService cardsService;
+
+    @Setup
+    public void setUp() {
+        Map<String, CardSequence> sequences = new HashMap<>();
+        CardSequenceRepository sequenceRepository = Stubs.repository(CardSequenceRepository.class, Map.of(
+                "findByNameForUpdate", args -> Optional.of(sequences.computeIfAbsent((String) args[0], name -> {
+                    CardSequence sequence = new CardSequence();
+                    sequence.setName(name);
+                    sequence.setNextValue(1L);
+                    return sequence;
+                })),
+                "saveAndFlush", args -> args[0]));
+        generator = new SequenceCardIdentifierGenerator(sequenceRepository, null, Stubs.transactionTemplate());
+        cardsService = new CardsService(null, null, generator, null, null);
+    }
+
+    @Benchmark
+    public String nextCardId() {
+        return generator.nextCardId();
+    }
+
+    @Benchmark
+    public String nextPan() {
+        return generator.nextPan();
+    }
+
+    @Benchmark
+    public String maskPan() {
+        return cardsService.maskPan("5299990000000426");
+    }
+}
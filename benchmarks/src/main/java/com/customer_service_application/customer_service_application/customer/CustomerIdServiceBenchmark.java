@@ -0,0 +1,45 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import com.benchmarks.Stubs;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Customer ID issuing, including the amortised block refill against an
+ * in-memory sequence table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerIdServiceBenchmark {
+    private CustomerIdService customerIdService;
+
+    @Setup
+    public void setUp() {
+        Map<String, CustomerIdSequence> sequences = new HashMap<>();
+        customerIdService = new CustomerIdService();
+        customerIdService.sequenceRepository = Stubs.repository(CustomerIdSequenceRepository.class, Map.of(
+                "findByPrefixForUpdate", args -> Optional.of(sequences.computeIfAbsent((String) args[0], prefix -> {
+                    CustomerIdSequence sequence = new CustomerIdSequence();
+                    sequence.setPrefix(prefix);
+                    sequence.setNextValue(1L);
+                    return sequence;
+                })),
+                "saveAndFlush", args -> args[0]));
+        customerIdService.transactionTemplate = Stubs.transactionTemplate();
+        customerIdService.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Benchmark
+    public String nextCustomerId() {
+        return customerIdService.nextCustomerId();
+    }
+}
@@ -0,0 +1,96 @@
+#!/usr/bin/env bash
+# Startup time of account-service and card-service, started as today and with
+# the fast-start build (AppCDS archive, lazy framework beans, Flyway migrations
+# validated instead of ddl-auto=update).
+#
+#   ./startup.sh                        # compare with baselines/startup.json
+#   ./startup.sh card-service           # one module
+#   RUNS=10 ./startup.sh
+#   UPDATE_BASELINE=1 ./startup.sh      # store the result as the new baseline
+#   STARTUP_ARGS="--spring.datasource.url=jdbc:postgresql://db:5432/cards_db" ./startup.sh card-service
+#
+# Each module is packaged with -Pfast-start, which builds both jars. Every
+# start runs against the module's configured database, so Postgres has to be
+# up as for a normal start; Eureka does not, the services no longer wait for
+# it. A start is timed from JVM launch to Spring Boot's "Started" line
+# ("process running for"), RUNS times per mode (default 5). Medians go to
+# target/startup.json in JMH's result format and BaselineCheck compares them
+# with the baseline. Baselines are only comparable on the machine that
+# recorded them.
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+BENCH="$ROOT/benchmarks"
+RESULTS="$BENCH/target/startup.json"
+BASELINE="$BENCH/baselines/startup.json"
+RUNS=${RUNS:-5}
+MODULES=("$@")
+if [ ${#MODULES[@]} -eq 0 ]; then
+  MODULES=(account-service card-service)
+fi
+
+# Starts the command, waits for the "Started" line and prints the seconds since JVM launch
+time_start() {
+  local log pid seconds=""
+  log=$(mktemp)
+  # shellcheck disable=SC2086
+  "$@" --server.port=0 ${STARTUP_ARGS:-} >"$log" 2>&1 &
+  pid=$!
+  for _ in $(seq 1 1500); do
+    seconds=$(grep -o 'process running for [0-9.]*' "$log" | grep -o '[0-9.]*$' || true)
+    if [ -n "$seconds" ] || ! kill -0 "$pid" 2>/dev/null; then
+      break
+    fi
+    sleep 0.2
+  done
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  if [ -z "$seconds" ]; then
+    echo "did not start: $*" >&2
+    tail -20 "$log" >&2
+    rm -f "$log"
+    return 1
+  fi
+  rm -f "$log"
+  echo "$seconds"
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+mkdir -p "$BENCH/target"
+results=()
+for module in "${MODULES[@]}"; do
+  cd "$ROOT/$module"
+  mvn -B -q -DskipTests -Pfast-start package
+
+  for mode in default fast-start; do
+    if [ "$mode" = default ]; then
+      command=(java -jar "target/$module-0.0.1-SNAPSHOT.jar")
+    else
+      command=(java -XX:SharedArchiveFile=target/fast-start/application.jsa -Xlog:cds=error
+               -Dspring.profiles.active=fast-start -jar "target/fast-start/$module-0.0.1-SNAPSHOT-fast-start.jar")
+    fi
+    samples=()
+    for _ in $(seq 1 "$RUNS"); do
+      samples+=("$(time_start "${command[@]}")")
+    done
+    score=$(printf '%s\n' "${samples[@]}" | median)
+    echo "$module $mode: ${score}s (runs: ${samples[*]})"
+    results+=("{\"benchmark\":\"startup.$module.$mode\",\"mode\":\"ss\",\"primaryMetric\":{\"score\":$score,\"scoreUnit\":\"s\"}}")
+  done
+done
+cd "$ROOT"
+
+(IFS=,; echo "[${results[*]}]") > "$RESULTS"
+
+if [ "${UPDATE_BASELINE:-0}" = "1" ]; then
+  cp "$RESULTS" "$BASELINE"
+  echo "baseline updated"
+elif [ -f "$BASELINE" ]; then
+  (cd "$BENCH" && mvn -B -q -DskipTests package)
+  java -cp "$BENCH/target/benchmarks.jar" com.benchmarks.BaselineCheck "$BASELINE" "$RESULTS"
+else
+  echo "no baseline at $BASELINE yet; run with UPDATE_BASELINE=1 to record one"
+fi
@@ -1,14 +1,14 @@
 package com.card_service.card_service;
 
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
-public class CardServiceApplication implements CommandLineRunner {
+@EnableScheduling
+public class CardServiceApplication {
 
 	public static void main(String[] args) {
 
@@ -18,30 +18,4 @@ public class CardServiceApplication implements CommandLineRunner {
 		SpringApplication.run(CardServiceApplication.class, args);
 	}
 
-	@Override
-	public void run(String... args) throws Exception {
-		String eurekaUrl = "http://localhost:8761/eureka/apps";
-		RestTemplate restTemplate = new RestTemplate();
-
-		int maxRetries = 3;
-		int retryCount = 0;
-		boolean eurekaAvailable = false;
-
-		while (retryCount < maxRetries) {
-			try {
-				restTemplate.getForObject(eurekaUrl, String.class);
-				eurekaAvailable = true;
-				break;
-			} catch (Exception e) {
-				System.out.println("Waiting for Eureka Server to start... Attempt " + (retryCount + 1));
-				Thread.sleep(7000);
-				retryCount++;
-			}
-		}
-
-		if (!eurekaAvailable) {
-			System.err.println("Eureka Server is not available. Shutting down...");
-			System.exit(1);
-		}
-	}
 }
@@ -0,0 +1,11 @@
+package com.card_service.card_service.cards;
+
+import lombok.Data;
+
+@Data
+public class AccountChangeEvent {
+    public static final String TOKEN_HEADER = "X-Events-Token";
+
+    private String accountId;
+    private String type;
+}
@@ -0,0 +1,14 @@
+package com.card_service.card_service.cards;
+
+/**
+ * Lookups against account-service. The transport is picked with
+ * account-service.client: rest-template (default), hedged or batched.
+ */
+public interface AccountClient {
+
+    /**
+     * The account, or null when account-service reports it missing or deleted.
+     * Other failures are thrown so callers do not mistake an outage for a miss.
+     */
+    AccountDto fetchAccount(String accountId);
+}
@@ -0,0 +1,53 @@
+package com.card_service.card_service.cards;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of account-service lookups used to validate card requests.
+ * Entries are dropped when account-service reports the account was edited or
+ * deleted. Hit, miss and eviction counts are published as cache.* meters
+ * tagged cache=accountLookup.
+ */
+@Component
+public class AccountLookupCache {
+    public static final String NAME = "accountLookup";
+
+    private final Cache<String, AccountDto> cache;
+
+    public AccountLookupCache(
+            @Value("${account-cache.max-size:10000}") long maxSize,
+            @Value("${account-cache.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    /**
+     * Returns the cached account or asks the loader. A null result (unknown or
+     * deleted account) and a loader that throws leave nothing cached.
+     */
+    public AccountDto get(String accountId, Function<String, AccountDto> loader) {
+        if (accountId == null) {
+            return loader.apply(null);
+        }
+        return cache.get(accountId, loader);
+    }
+
+    public void invalidate(String accountId) {
+        if (accountId != null) {
+            cache.invalidate(accountId);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.card_service.card_service.cards;
+
+import com.card_service.card_service.utilities.EntityResponse;
+import com.card_service.card_service.utilities.MicroBatcher;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Account lookups that are held for batching.window and sent together to
+ * POST accounts/batch-lookup, so concurrent card requests share one round trip.
+ */
+@Component
+@ConditionalOnProperty(name = "account-service.client", havingValue = "batched")
+public class BatchingAccountClient implements AccountClient, DisposableBean {
+    private final RestTemplate restTemplate;
+    private final String accountServiceUrl;
+    private final Duration timeout;
+    private final MicroBatcher<String, AccountDto> batcher;
+
+    public BatchingAccountClient(RestTemplate restTemplate,
+                                 @Value("${account-service.url}") String accountServiceUrl,
+                                 @Value("${batching.window:5ms}") Duration window,
+                                 @Value("${batching.max-size:100}") int maxSize,
+                                 @Value("${batching.threads:4}") int threads,
+                                 @Value("${batching.timeout:5s}") Duration timeout) {
+        this.restTemplate = restTemplate;
+        this.accountServiceUrl = accountServiceUrl;
+        this.timeout = timeout;
+        this.batcher = new MicroBatcher<>(this::lookupAll,
+                Executors.newScheduledThreadPool(threads, new CustomizableThreadFactory("account-batch-")),
+                window, maxSize);
+    }
+
+    @Override
+    public AccountDto fetchAccount(String accountId) {
+        if (accountId == null) {
+            return null;
+        }
+        try {
+            return batcher.submit(accountId).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResourceAccessException("Timed out waiting for account batch lookup");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for account batch lookup", e);
+        }
+    }
+
+    Map<String, AccountDto> lookupAll(Set<String> accountIds) {
+        ResponseEntity<EntityResponse<Map<String, AccountDto>>> response =
+                restTemplate.exchange(
+                        accountServiceUrl + "accounts/batch-lookup",
+                        HttpMethod.POST,
+                        new HttpEntity<>(Map.of("accountIds", new ArrayList<>(accountIds))),
+                        new ParameterizedTypeReference<>() {}
+                );
+        if (response.getBody() == null || response.getBody().getPayload() == null) {
+            return Map.of();
+        }
+        return response.getBody().getPayload();
+    }
+
+    @Override
+    public void destroy() {
+        batcher.shutdown();
+    }
+}
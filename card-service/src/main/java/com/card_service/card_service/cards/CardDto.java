@@ -6,6 +6,8 @@ import lombok.Data;
 public class CardDto {
     private String cardAlias;
     private String accountId;
+    // Optional; when given, the account must belong to this customer
+    private String customerId;
     private CardType type;
     private String cvv;
 
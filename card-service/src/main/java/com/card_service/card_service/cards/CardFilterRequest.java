@@ -11,4 +11,6 @@ public class CardFilterRequest {
 
     private int page = 0;
     private int size = 10;
+    private String cursor;
+    private boolean includeCount = false;
 }
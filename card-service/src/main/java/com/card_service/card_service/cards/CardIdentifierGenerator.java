@@ -0,0 +1,8 @@
+package com.card_service.card_service.cards;
+
+public interface CardIdentifierGenerator {
+
+    String nextCardId();
+
+    String nextPan();
+}
@@ -0,0 +1,325 @@
+package com.card_service.card_service.cards;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory inverted index over live (not deleted) cards: alias trigrams and
+ * card type. CardsService keeps it current on create, edit and delete. Writes
+ * made by other instances arrive in two ways. Cards they create are picked up
+ * by a catch-up scan for rows past the highest id loaded, every
+ * catch-up-interval-ms. Their edits and deletes are only seen by the full
+ * rebuild, every refresh-interval-ms. Until then the index can hold ids that
+ * no longer match, which CardsService filters out with {@link #matches}, and
+ * can miss cards an edit made match. The first build runs on the scheduler
+ * thread, so startup does not wait for the cards table to load. Searches it
+ * cannot answer (index not built yet, or any PAN filter, which stays a
+ * substring match in SQL) return empty so the caller falls back to the
+ * database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CardSearchIndex {
+    private final CardsRepository cardsRepository;
+
+    @Value("${card-search-index.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${card-search-index.rebuild-batch-size:5000}")
+    private int rebuildBatchSize = 5000;
+
+    private volatile Segment current;
+    private volatile Segment building;
+    // Scheduled tasks can overlap on the virtual-thread scheduler; a lock rather
+    // than synchronized keeps the JDBC reads from pinning the carrier
+    private final Lock refreshLock = new ReentrantLock();
+
+    public boolean canAnswer(String cardAlias, CardType type, String pan) {
+        return enabled && current != null && pan == null;
+    }
+
+    /**
+     * Matching cards, or empty when the query has to go to the database.
+     */
+    public Optional<Matches> search(String cardAlias, CardType type, String pan) {
+        if (!canAnswer(cardAlias, type, pan)) {
+            return Optional.empty();
+        }
+        Segment segment = current;
+        String alias = cardAlias != null ? cardAlias.toLowerCase(Locale.ROOT) : null;
+        return Optional.of(afterId -> segment.match(alias, type, afterId));
+    }
+
+    /**
+     * Whether a loaded card still satisfies an indexed search, checked against
+     * the row itself since the index can lag behind other instances' edits.
+     * Same rules as the SQL: live, alias containing cardAlias ignoring case,
+     * and the given type.
+     */
+    public static boolean matches(Card card, String cardAlias, CardType type) {
+        if (!"N".equalsIgnoreCase(card.getDeletedFlag())) {
+            return false;
+        }
+        if (type != null && type != card.getType()) {
+            return false;
+        }
+        return cardAlias == null || (card.getCardAlias() != null
+                && card.getCardAlias().toLowerCase(Locale.ROOT).contains(cardAlias.toLowerCase(Locale.ROOT)));
+    }
+
+    public void index(Card card) {
+        if (card == null || card.getId() == null) {
+            return;
+        }
+        apply(segment -> {
+            if ("N".equalsIgnoreCase(card.getDeletedFlag())) {
+                segment.add(card);
+            } else {
+                segment.remove(card.getId());
+            }
+        });
+    }
+
+    public void remove(Long cardId) {
+        apply(segment -> segment.remove(cardId));
+    }
+
+    @Scheduled(initialDelayString = "${card-search-index.initial-delay-ms:0}",
+            fixedDelayString = "${card-search-index.refresh-interval-ms:60000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            Segment segment = new Segment();
+            building = segment;
+            load(segment);
+            current = segment;
+        } catch (Exception e) {
+            log.warn("Card search index rebuild failed, searches use the database until the next rebuild: {}", e.getMessage());
+        } finally {
+            building = null;
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Adds cards inserted since the last scan, by any instance. Skipped while
+     * a rebuild is running, which reads them anyway.
+     */
+    @Scheduled(initialDelayString = "${card-search-index.catch-up-interval-ms:5000}",
+            fixedDelayString = "${card-search-index.catch-up-interval-ms:5000}")
+    public void catchUp() {
+        if (!enabled || !refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            Segment segment = current;
+            if (segment != null) {
+                load(segment);
+            }
+        } catch (Exception e) {
+            log.warn("Card search index catch-up failed, retrying on the next run: {}", e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Adds live cards with ids past what segment has read so far
+    private void load(Segment segment) {
+        long afterId = segment.loadedUpTo;
+        List<Card> batch;
+        do {
+            batch = cardsRepository.searchCardsAfter(null, null, null, afterId, rebuildBatchSize);
+            for (Card card : batch) {
+                segment.add(card);
+                afterId = card.getId();
+            }
+        } while (batch.size() == rebuildBatchSize);
+        segment.loadedUpTo = afterId;
+    }
+
+    private void apply(java.util.function.Consumer<Segment> change) {
+        Segment segment = current;
+        if (segment != null) {
+            change.accept(segment);
+        }
+        Segment next = building;
+        if (next != null) {
+            change.accept(next);
+        }
+    }
+
+    static List<String> trigrams(String text) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Ids matched by one search, read lazily in ascending order so a page
+     * costs about its size rather than the size of the match.
+     */
+    @FunctionalInterface
+    public interface Matches {
+        /** Matching ids greater than afterId. */
+        Iterator<Long> after(long afterId);
+
+        /** Walks the whole match, for callers that asked for a total. */
+        default long count() {
+            long count = 0;
+            for (Iterator<Long> ids = after(0); ids.hasNext(); ids.next()) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private static final class Segment {
+        private final NavigableMap<Long, Entry> docs = new ConcurrentSkipListMap<>();
+        private final Map<String, Posting> postings = new ConcurrentHashMap<>();
+        // Highest id read from the table; cards indexed locally do not move it
+        private volatile long loadedUpTo;
+
+        void add(Card card) {
+            remove(card.getId());
+            Entry entry = new Entry(
+                    card.getCardAlias() != null ? card.getCardAlias().toLowerCase(Locale.ROOT) : "",
+                    card.getType());
+            docs.put(card.getId(), entry);
+            for (String key : entry.keys()) {
+                postings.computeIfAbsent(key, k -> new Posting()).add(card.getId());
+            }
+        }
+
+        void remove(Long cardId) {
+            Entry entry = docs.remove(cardId);
+            if (entry == null) {
+                return;
+            }
+            for (String key : entry.keys()) {
+                Posting posting = postings.get(key);
+                if (posting != null) {
+                    posting.remove(cardId);
+                }
+            }
+        }
+
+        // Walks the smallest posting from afterId and checks each id against the
+        // other filters as it goes, so nothing is copied or sorted per page
+        Iterator<Long> match(String alias, CardType type, long afterId) {
+            List<Posting> required = new ArrayList<>();
+            if (type != null) {
+                required.add(postings.getOrDefault("t:" + type.name(), Posting.EMPTY));
+            }
+            if (alias != null) {
+                for (String gram : trigrams(alias)) {
+                    required.add(postings.getOrDefault("a:" + gram, Posting.EMPTY));
+                }
+            }
+
+            Iterator<Long> candidates;
+            if (required.isEmpty()) {
+                candidates = docs.navigableKeySet().tailSet(afterId, false).iterator();
+            } else {
+                required.sort(Comparator.comparingInt(Posting::size));
+                candidates = required.remove(0).ids.tailSet(afterId, false).iterator();
+            }
+
+            return new Iterator<>() {
+                private Long next = advance();
+
+                private Long advance() {
+                    while (candidates.hasNext()) {
+                        Long id = candidates.next();
+                        if (matches(id)) {
+                            return id;
+                        }
+                    }
+                    return null;
+                }
+
+                private boolean matches(Long id) {
+                    for (Posting posting : required) {
+                        if (!posting.ids.contains(id)) {
+                            return false;
+                        }
+                    }
+                    if (alias == null) {
+                        return true;
+                    }
+                    // Trigram hits are candidates; confirm the substring (and cover aliases under 3 chars)
+                    Entry entry = docs.get(id);
+                    return entry != null && entry.alias.contains(alias);
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Long next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    Long id = next;
+                    next = advance();
+                    return id;
+                }
+            };
+        }
+    }
+
+    // ConcurrentSkipListSet.size() walks the set, so the size is kept alongside
+    private static final class Posting {
+        static final Posting EMPTY = new Posting();
+
+        private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        void add(Long id) {
+            if (ids.add(id)) {
+                size.incrementAndGet();
+            }
+        }
+
+        void remove(Long id) {
+            if (ids.remove(id)) {
+                size.decrementAndGet();
+            }
+        }
+
+        int size() {
+            return size.get();
+        }
+    }
+
+    private record Entry(String alias, CardType type) {
+        List<String> keys() {
+            List<String> keys = new ArrayList<>();
+            for (String gram : trigrams(alias)) {
+                keys.add("a:" + gram);
+            }
+            if (type != null) {
+                keys.add("t:" + type.name());
+            }
+            return keys;
+        }
+    }
+}
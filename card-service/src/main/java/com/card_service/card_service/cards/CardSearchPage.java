@@ -0,0 +1,13 @@
+package com.card_service.card_service.cards;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CardSearchPage {
+    private List<Card> content;
+    private String nextCursor;
+    /** Only populated when the caller asked for a total count. */
+    private Long totalItems;
+}
@@ -0,0 +1,15 @@
+package com.card_service.card_service.cards;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Data
+@Table(name = "card_sequences")
+@Entity
+public class CardSequence {
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,18 @@
+package com.card_service.card_service.cards;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CardSequenceRepository extends JpaRepository<CardSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CardSequence s WHERE s.name = :name")
+    Optional<CardSequence> findByNameForUpdate(@Param("name") String name);
+}
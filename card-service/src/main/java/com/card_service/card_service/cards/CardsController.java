@@ -15,6 +15,14 @@ public class CardsController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    // Called by account-service when an account is edited or deleted
+    @PostMapping("/account-events")
+    public ResponseEntity<?> accountChanged(@RequestBody AccountChangeEvent event,
+                                            @RequestHeader(name = AccountChangeEvent.TOKEN_HEADER, required = false) String token) {
+        var response = cardsService.handleAccountChange(event, token);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
     @GetMapping
     public ResponseEntity<?> fetchCardById(@RequestParam Long cardId, @RequestParam boolean showSensitive) {
         var response= cardsService.fetchCardById(cardId, showSensitive);
@@ -53,4 +61,27 @@ public class CardsController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    @GetMapping("/search/cursor")
+    public ResponseEntity<?> searchCardsByCursor(
+            @RequestParam(required = false) String cardAlias,
+            @RequestParam(required = false) CardType type,
+            @RequestParam(required = false) String pan,
+            @RequestParam(defaultValue = "false") boolean showSensitive,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeCount) {
+
+        CardFilterRequest request = new CardFilterRequest();
+        request.setCardAlias(cardAlias);
+        request.setType(type);
+        request.setPan(pan);
+        request.setShowSensitive(showSensitive);
+        request.setCursor(cursor);
+        request.setSize(size);
+        request.setIncludeCount(includeCount);
+
+        var response = cardsService.searchCardsByCursor(request);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
 }
@@ -16,6 +16,7 @@ public interface CardsRepository extends JpaRepository<Card, Long> {
       AND (:cardAlias IS NULL OR LOWER(c.card_alias) LIKE LOWER(CONCAT('%', :cardAlias, '%')))
       AND (:type IS NULL OR c.type = :type)
       AND (:pan IS NULL OR c.pan LIKE CONCAT('%', :pan, '%'))
+    ORDER BY c.id
     LIMIT :limit OFFSET :offset
     """, nativeQuery = true)
     List<Card> searchCardsNative(
@@ -26,9 +27,46 @@ public interface CardsRepository extends JpaRepository<Card, Long> {
             @Param("offset") int offset
     );
 
+    @Query(value = """
+    SELECT * FROM cards c
+    WHERE c.deleted_flag = 'N'
+      AND (:cardAlias IS NULL OR LOWER(c.card_alias) LIKE LOWER(CONCAT('%', :cardAlias, '%')))
+      AND (:type IS NULL OR c.type = :type)
+      AND (:pan IS NULL OR c.pan LIKE CONCAT('%', :pan, '%'))
+      AND c.id > :afterId
+    ORDER BY c.id
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<Card> searchCardsAfter(
+            @Param("cardAlias") String cardAlias,
+            @Param("type") String type,
+            @Param("pan") String pan,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit
+    );
+
+    @Query(value = """
+    SELECT COUNT(*) FROM cards c
+    WHERE c.deleted_flag = 'N'
+      AND (:cardAlias IS NULL OR LOWER(c.card_alias) LIKE LOWER(CONCAT('%', :cardAlias, '%')))
+      AND (:type IS NULL OR c.type = :type)
+      AND (:pan IS NULL OR c.pan LIKE CONCAT('%', :pan, '%'))
+    """, nativeQuery = true)
+    long countCards(
+            @Param("cardAlias") String cardAlias,
+            @Param("type") String type,
+            @Param("pan") String pan
+    );
+
     List<Card> findByAccountId(String accountId);
 
-    @Query(value = "SELECT card_id FROM cards WHERE card_id LIKE CONCAT(:prefix, '%') ORDER BY card_id DESC LIMIT 1", nativeQuery = true)
+    /**
+     * Highest card ID issued under {@code prefix}. Sequences are at least five
+     * digits and grow wider past 99,999, so IDs are ordered by length before
+     * text; text order alone would put C202599999 after C2025100000.
+     */
+    @Query(value = "SELECT card_id FROM cards WHERE card_id LIKE CONCAT(:prefix, '%') " +
+            "ORDER BY LENGTH(card_id) DESC, card_id DESC LIMIT 1", nativeQuery = true)
     String findLastCardIdForYear(@Param("prefix") String prefix);
 
 }
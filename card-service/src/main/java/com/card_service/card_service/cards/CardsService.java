@@ -1,16 +1,17 @@
 package com.card_service.card_service.cards;
 
 import com.card_service.card_service.utilities.EntityResponse;
+import com.card_service.card_service.utilities.exceptions.DownstreamUnavailableException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.time.LocalDate;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -19,33 +20,28 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CardsService {
     private final CardsRepository cardsRepository;
-    private final RestTemplate restTemplate;
+    private final ResilientAccountClient resilientAccountClient;
+    private final CardIdentifierGenerator cardIdentifierGenerator;
+    private final CardSearchIndex cardSearchIndex;
+    private final AccountLookupCache accountLookupCache;
 
-    @Value("${account-service.url}")
-    private String accountServiceUrl;
+    @Value("${service-events.token:}")
+    private String eventsToken = "";
 
     public EntityResponse<Card> createCard(CardDto dto) {
         EntityResponse<Card> response = new EntityResponse<>();
 
         try {
             // 1. Validate account existence
-            ResponseEntity<EntityResponse<AccountDto>> accountResponse =
-                    restTemplate.exchange(
-                            accountServiceUrl + "accounts?accountId=" + dto.getAccountId(),
-                            HttpMethod.GET,
-                            null,
-                            new ParameterizedTypeReference<>() {}
-                    );
-
-            if (!accountResponse.getStatusCode().is2xxSuccessful() || accountResponse.getBody() == null) {
+            AccountDto accountDto = accountLookupCache.get(dto.getAccountId(), resilientAccountClient::fetchAccount);
+            if (accountDto == null) {
                 response.setMessage("Account not found");
                 response.setStatusCode(HttpStatus.NOT_FOUND.value());
                 return response;
             }
 
             // 2. Validate account belongs to the provided customer
-            AccountDto accountDto = accountResponse.getBody().getPayload();
-            if (!accountDto.getCustomerId().equals(accountResponse.getBody().getPayload().getCustomerId())) {
+            if (dto.getCustomerId() != null && !dto.getCustomerId().equals(accountDto.getCustomerId())) {
                 response.setMessage("Account does not belong to the provided customer");
                 response.setStatusCode(HttpStatus.BAD_REQUEST.value());
                 return response;
@@ -75,19 +71,23 @@ public class CardsService {
             Card card = new Card();
             card.setCardAlias(dto.getCardAlias());
             card.setAccountId(dto.getAccountId());
-            card.setCardId(generateCardId());
+            card.setCardId(cardIdentifierGenerator.nextCardId());
             card.setType(dto.getType());
-            card.setPan(generateCardId());
+            card.setPan(cardIdentifierGenerator.nextPan());
             card.setCvv(dto.getCvv());
 
             // Set primaryCardFlag based on whether it's the first card
             card.setPrimaryCardFlag(existingCards.isEmpty() ? "Y" : "N");
 
             cardsRepository.save(card);
+            cardSearchIndex.index(card);
 
             response.setPayload(card);
             response.setMessage("Card created successfully");
             response.setStatusCode(HttpStatus.CREATED.value());
+        } catch (DownstreamUnavailableException e) {
+            response.setMessage(e.getMessage());
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE.value());
         } catch (Exception e) {
             response.setMessage("Error: " + e.getMessage());
             response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -96,20 +96,29 @@ public class CardsService {
         return response;
     }
 
-    public String generateCardId() {
-        String year = String.valueOf(LocalDate.now().getYear());
-        String prefix = "C" + year;
-        String lastId = cardsRepository.findLastCardIdForYear(prefix);
-
-        int nextNumber = 1;
-        if (lastId != null && lastId.startsWith(prefix)) {
-            String numberPart = lastId.substring(prefix.length());
-            nextNumber = Integer.parseInt(numberPart) + 1;
+    public EntityResponse<Void> handleAccountChange(AccountChangeEvent event, String token) {
+        EntityResponse<Void> response = new EntityResponse<>();
+        if (!validEventsToken(token)) {
+            response.setMessage("Missing or invalid events token");
+            response.setStatusCode(HttpStatus.UNAUTHORIZED.value());
+            return response;
         }
-
-        return prefix + String.format("%05d", nextNumber);
+        if (event == null || event.getAccountId() == null) {
+            response.setMessage("accountId is required");
+            response.setStatusCode(HttpStatus.BAD_REQUEST.value());
+            return response;
+        }
+        accountLookupCache.invalidate(event.getAccountId());
+        response.setMessage("Account cache entry invalidated");
+        response.setStatusCode(HttpStatus.ACCEPTED.value());
+        return response;
     }
 
+    // Without a configured token every event is refused rather than accepted unauthenticated
+    private boolean validEventsToken(String token) {
+        return !eventsToken.isBlank() && token != null
+                && MessageDigest.isEqual(eventsToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
 
     public EntityResponse<Card> fetchCardById(Long cardId, boolean showSensitive) {
         EntityResponse<Card> response = new EntityResponse<>();
@@ -150,6 +159,7 @@ public class CardsService {
                     card.setCardAlias(cardDto.getCardAlias());
 
                     cardsRepository.save(card);
+                    cardSearchIndex.index(card);
 
                     response.setPayload(card);
                     response.setMessage("Card alias updated successfully");
@@ -178,6 +188,7 @@ public class CardsService {
                 if ("N".equalsIgnoreCase(card.getDeletedFlag())) {
                     card.setDeletedFlag("Y");
                     cardsRepository.save(card);
+                    cardSearchIndex.remove(card.getId());
 
                     response.setPayload(card);
                     response.setMessage("Card deleted successfully (soft delete)");
@@ -199,21 +210,27 @@ public class CardsService {
         try {
             int offset = request.getPage() * request.getSize();
 
-            List<Card> cards = cardsRepository.searchCardsNative(
-                    request.getCardAlias(),
-                    request.getType() != null ? request.getType().name() : null,
-                    request.getPan(),
-                    request.getSize(),
-                    offset
-            );
-
-            List<Card> result = cards.stream().map(card -> {
-                if (!Boolean.TRUE.equals(request.getShowSensitive())) {
-                    card.setPan(maskPan(card.getPan()));
-                    card.setCvv("***");
+            Optional<CardSearchIndex.Matches> indexed = cardSearchIndex.search(
+                    request.getCardAlias(), request.getType(), request.getPan());
+
+            List<Card> cards;
+            if (indexed.isPresent()) {
+                Iterator<Long> ids = indexed.get().after(0);
+                for (int skipped = 0; skipped < offset && ids.hasNext(); skipped++) {
+                    ids.next();
                 }
-                return card;
-            }).collect(Collectors.toList());
+                cards = hydrate(ids, request.getSize(), request);
+            } else {
+                cards = cardsRepository.searchCardsNative(
+                        request.getCardAlias(),
+                        request.getType() != null ? request.getType().name() : null,
+                        request.getPan(),
+                        request.getSize(),
+                        offset
+                );
+            }
+
+            List<Card> result = maskSensitive(cards, request.getShowSensitive());
 
             response.setPayload(result);
             response.setMessage("Cards fetched successfully");
@@ -226,7 +243,88 @@ public class CardsService {
         return response;
     }
 
-    private String maskPan(String pan) {
+    public EntityResponse<CardSearchPage> searchCardsByCursor(CardFilterRequest request) {
+        EntityResponse<CardSearchPage> response = new EntityResponse<>();
+        try {
+            if (request.getSize() < 1) {
+                throw new IllegalArgumentException("size must be at least 1");
+            }
+            long afterId = CardSearchCursor.decode(request.getCursor());
+            String type = request.getType() != null ? request.getType().name() : null;
+
+            Optional<CardSearchIndex.Matches> indexed = cardSearchIndex.search(
+                    request.getCardAlias(), request.getType(), request.getPan());
+
+            // Fetch one extra row to learn whether another page exists without counting
+            List<Card> cards;
+            if (indexed.isPresent()) {
+                cards = hydrate(indexed.get().after(afterId), request.getSize() + 1, request);
+            } else {
+                cards = cardsRepository.searchCardsAfter(
+                        request.getCardAlias(),
+                        type,
+                        request.getPan(),
+                        afterId,
+                        request.getSize() + 1
+                );
+            }
+
+            CardSearchPage page = new CardSearchPage();
+            if (cards.size() > request.getSize()) {
+                cards = cards.subList(0, request.getSize());
+                page.setNextCursor(CardSearchCursor.encode(cards.get(cards.size() - 1).getId()));
+            }
+            page.setContent(maskSensitive(cards, request.getShowSensitive()));
+            if (request.isIncludeCount()) {
+                page.setTotalItems(indexed.isPresent()
+                        ? indexed.get().count()
+                        : cardsRepository.countCards(request.getCardAlias(), type, request.getPan()));
+            }
+
+            response.setPayload(page);
+            response.setMessage("Cards fetched successfully");
+            response.setStatusCode(HttpStatus.OK.value());
+        } catch (IllegalArgumentException e) {
+            response.setMessage(e.getMessage());
+            response.setStatusCode(HttpStatus.BAD_REQUEST.value());
+        } catch (Exception e) {
+            response.setMessage("Error: " + e.getMessage());
+            response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+
+        return response;
+    }
+
+    // Loads up to limit cards for the ids the index matched, in id order. The index
+    // can lag behind edits and deletes made on other instances, so every row is checked
+    // against the query again; rows that are gone, deleted or no longer match are skipped
+    // and more ids are pulled until the page is full or the ids run out.
+    private List<Card> hydrate(Iterator<Long> ids, int limit, CardFilterRequest request) {
+        List<Card> cards = new ArrayList<>();
+        while (cards.size() < limit && ids.hasNext()) {
+            List<Long> batch = new ArrayList<>();
+            while (batch.size() < limit - cards.size() && ids.hasNext()) {
+                batch.add(ids.next());
+            }
+            cardsRepository.findAllById(batch).stream()
+                    .filter(card -> CardSearchIndex.matches(card, request.getCardAlias(), request.getType()))
+                    .sorted(Comparator.comparing(Card::getId))
+                    .forEach(cards::add);
+        }
+        return cards;
+    }
+
+    private List<Card> maskSensitive(List<Card> cards, Boolean showSensitive) {
+        return cards.stream().map(card -> {
+            if (!Boolean.TRUE.equals(showSensitive)) {
+                card.setPan(maskPan(card.getPan()));
+                card.setCvv("***");
+            }
+            return card;
+        }).collect(Collectors.toList());
+    }
+
+    String maskPan(String pan) {
         if (pan == null || pan.length() < 4) return "****";
         return "**** **** **** " + pan.substring(pan.length() - 4);
     }
@@ -0,0 +1,61 @@
+package com.card_service.card_service.cards;
+
+import com.card_service.card_service.utilities.EntityResponse;
+import com.card_service.card_service.utilities.HedgedRequestExecutor;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Account lookups that pick account-service instances themselves so a slow
+ * instance can be hedged against another one. Uses the shared pooled
+ * HttpClient without the load-balancer interceptor.
+ */
+@Component
+@ConditionalOnProperty(name = "account-service.client", havingValue = "hedged")
+public class HedgingAccountClient implements AccountClient {
+    private final HedgedRequestExecutor hedgedRequestExecutor;
+    private final RestTemplate restTemplate;
+    private final String serviceId;
+
+    public HedgingAccountClient(HedgedRequestExecutor hedgedRequestExecutor,
+                                HttpClient httpClient,
+                                ObservationRegistry observationRegistry,
+                                ClientRequestObservationConvention clientRequestObservationConvention,
+                                @Value("${account-service.service-id:account-service}") String serviceId) {
+        this.hedgedRequestExecutor = hedgedRequestExecutor;
+        this.restTemplate = new RestTemplate(HedgedRequestExecutor.requestFactory(httpClient));
+        this.restTemplate.setObservationRegistry(observationRegistry);
+        this.restTemplate.setObservationConvention(clientRequestObservationConvention);
+        this.serviceId = serviceId;
+    }
+
+    @Override
+    public AccountDto fetchAccount(String accountId) {
+        return hedgedRequestExecutor.execute(serviceId, instance -> {
+            try {
+                ResponseEntity<EntityResponse<AccountDto>> accountResponse =
+                        restTemplate.exchange(
+                                instance + "/accounts?accountId=" + accountId,
+                                HttpMethod.GET,
+                                null,
+                                new ParameterizedTypeReference<>() {}
+                        );
+                if (!accountResponse.getStatusCode().is2xxSuccessful() || accountResponse.getBody() == null) {
+                    return null;
+                }
+                return accountResponse.getBody().getPayload();
+            } catch (HttpClientErrorException.NotFound | HttpClientErrorException.Gone e) {
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.card_service.card_service.cards;
+
+import com.card_service.card_service.utilities.SingleFlight;
+import com.card_service.card_service.utilities.exceptions.DownstreamUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs account lookups through the accountService bulkhead and circuit breaker
+ * (configured under resilience4j.*, visible on the circuitbreakers and
+ * bulkheads actuator endpoints). A rejected or failed call falls back to the
+ * last answer seen for the account, otherwise fails fast with
+ * DownstreamUnavailableException.
+ */
+@Slf4j
+@Component
+public class ResilientAccountClient {
+    public static final String NAME = "accountService";
+
+    private final AccountClient accountClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Cache<String, Optional<AccountDto>> lastKnown;
+    private final SingleFlight<String, AccountDto> inFlight = new SingleFlight<>(ResilientAccountClient::copyOf);
+
+    public ResilientAccountClient(AccountClient accountClient,
+                                  CircuitBreakerRegistry circuitBreakerRegistry,
+                                  BulkheadRegistry bulkheadRegistry,
+                                  @Value("${account-cache.max-size:10000}") long maxSize,
+                                  @Value("${account-cache.fallback-ttl:1h}") Duration fallbackTtl) {
+        this.accountClient = accountClient;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(fallbackTtl)
+                .build();
+    }
+
+    public AccountDto fetchAccount(String accountId) {
+        Supplier<AccountDto> call = Bulkhead.decorateSupplier(bulkhead,
+                CircuitBreaker.decorateSupplier(circuitBreaker, () -> accountClient.fetchAccount(accountId)));
+        try {
+            // Callers for an account already being looked up wait for that call
+            // instead of taking another bulkhead slot
+            AccountDto account = inFlight.execute(accountId, call);
+            if (accountId != null) {
+                lastKnown.put(accountId, Optional.ofNullable(account).map(ResilientAccountClient::copyOf));
+            }
+            return account;
+        } catch (RuntimeException e) {
+            Optional<AccountDto> fallback = accountId != null ? lastKnown.getIfPresent(accountId) : null;
+            if (fallback != null) {
+                log.debug("Account lookup for {} failed ({}), using last known answer", accountId, e.toString());
+                // A copy, as the cached answer is handed to every caller that falls back
+                return fallback.map(ResilientAccountClient::copyOf).orElse(null);
+            }
+            throw new DownstreamUnavailableException("Account service unavailable", e);
+        }
+    }
+
+    private static AccountDto copyOf(AccountDto account) {
+        AccountDto copy = new AccountDto();
+        copy.setAccountId(account.getAccountId());
+        copy.setBicSwift(account.getBicSwift());
+        copy.setCustomerId(account.getCustomerId());
+        return copy;
+    }
+}
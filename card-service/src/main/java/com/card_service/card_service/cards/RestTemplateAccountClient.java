@@ -0,0 +1,43 @@
+package com.card_service.card_service.cards;
+
+import com.card_service.card_service.utilities.EntityResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@Component
+@ConditionalOnProperty(name = "account-service.client", havingValue = "rest-template", matchIfMissing = true)
+public class RestTemplateAccountClient implements AccountClient {
+    private final RestTemplate restTemplate;
+    private final String accountServiceUrl;
+
+    public RestTemplateAccountClient(RestTemplate restTemplate,
+                                     @Value("${account-service.url}") String accountServiceUrl) {
+        this.restTemplate = restTemplate;
+        this.accountServiceUrl = accountServiceUrl;
+    }
+
+    @Override
+    public AccountDto fetchAccount(String accountId) {
+        try {
+            ResponseEntity<EntityResponse<AccountDto>> accountResponse =
+                    restTemplate.exchange(
+                            accountServiceUrl + "accounts?accountId=" + accountId,
+                            HttpMethod.GET,
+                            null,
+                            new ParameterizedTypeReference<>() {}
+                    );
+            if (!accountResponse.getStatusCode().is2xxSuccessful() || accountResponse.getBody() == null) {
+                return null;
+            }
+            return accountResponse.getBody().getPayload();
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.Gone e) {
+            return null;
+        }
+    }
+}
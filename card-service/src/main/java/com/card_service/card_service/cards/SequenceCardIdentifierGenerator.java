@@ -0,0 +1,143 @@
+package com.card_service.card_service.cards;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Leases ranges of card ID and PAN sequences from the card_sequences table
+ * and serves them from memory. Card IDs are counted per year, PANs come
+ * from their own range and carry a Luhn check digit.
+ */
+@Component
+@RequiredArgsConstructor
+public class SequenceCardIdentifierGenerator implements CardIdentifierGenerator {
+    static final String PAN_SEQUENCE = "PAN";
+
+    private final CardSequenceRepository sequenceRepository;
+    private final CardsRepository cardsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    @Value("${card-identifiers.block-size:50}")
+    private int blockSize = 50;
+
+    @Value("${card-identifiers.pan-prefix:529999}")
+    private String panPrefix = "529999";
+
+    @Override
+    public String nextCardId() {
+        String prefix = "C" + LocalDate.now().getYear();
+        return prefix + String.format("%05d", next(prefix));
+    }
+
+    @Override
+    public String nextPan() {
+        String body = panPrefix + String.format("%0" + (15 - panPrefix.length()) + "d", next(PAN_SEQUENCE));
+        return body + luhnCheckDigit(body);
+    }
+
+    public static int luhnCheckDigit(String digits) {
+        int sum = 0;
+        boolean doubleIt = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubleIt) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleIt = !doubleIt;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private long next(String name) {
+        Block block = blocks.get(name);
+        if (block != null) {
+            long value = block.cursor.getAndIncrement();
+            if (value < block.limit) {
+                return value;
+            }
+        }
+        return nextFromNewBlock(name);
+    }
+
+    private long nextFromNewBlock(String name) {
+        refillLock.lock();
+        try {
+            Block block = blocks.get(name);
+            if (block != null) {
+                long value = block.cursor.getAndIncrement();
+                if (value < block.limit) {
+                    return value;
+                }
+            }
+            Block reserved = reserveBlock(name);
+            long value = reserved.cursor.getAndIncrement();
+            blocks.put(name, reserved);
+            return value;
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private Block reserveBlock(String name) {
+        try {
+            return transactionTemplate.execute(status -> doReserveBlock(name));
+        } catch (DataIntegrityViolationException e) {
+            // Another card-service instance inserted the row for this sequence name
+            // between our lookup and insert; read and advance that row
+            return transactionTemplate.execute(status -> doReserveBlock(name));
+        }
+    }
+
+    private Block doReserveBlock(String name) {
+        CardSequence sequence = sequenceRepository.findByNameForUpdate(name)
+                .orElseGet(() -> newSequence(name));
+
+        long start = sequence.getNextValue();
+        sequence.setNextValue(start + blockSize);
+        sequenceRepository.saveAndFlush(sequence);
+
+        return new Block(start, start + blockSize);
+    }
+
+    private CardSequence newSequence(String name) {
+        long nextValue = 1;
+        if (!PAN_SEQUENCE.equals(name)) {
+            // Continue after any card IDs issued before the sequence row existed
+            String lastId = cardsRepository.findLastCardIdForYear(name);
+            if (lastId != null && lastId.startsWith(name)) {
+                nextValue = Long.parseLong(lastId.substring(name.length())) + 1;
+            }
+        }
+
+        CardSequence sequence = new CardSequence();
+        sequence.setName(name);
+        sequence.setNextValue(nextValue);
+        return sequence;
+    }
+
+    private static final class Block {
+        private final AtomicLong cursor;
+        private final long limit;
+
+        private Block(long start, long limit) {
+            this.cursor = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.card_service.card_service.configurations;
+
+import com.card_service.card_service.utilities.HedgedRequestExecutor;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(name = "account-service.client", havingValue = "hedged")
+public class HedgingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public HedgedRequestExecutor hedgedRequestExecutor(
+            DiscoveryClient discoveryClient,
+            MeterRegistry meterRegistry,
+            @Value("${hedging.window-size:200}") int windowSize,
+            @Value("${hedging.min-samples:20}") int minSamples,
+            @Value("${hedging.min-delay:20ms}") Duration minDelay,
+            @Value("${hedging.max-delay:500ms}") Duration maxDelay,
+            @Value("${hedging.max-threads:64}") int maxThreads) {
+        // No queue: once max-threads attempts are in flight, further ones are
+        // rejected and the executor calls without hedging
+        ThreadPoolExecutor threads = new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new CustomizableThreadFactory("hedge-"), new ThreadPoolExecutor.AbortPolicy());
+        return new HedgedRequestExecutor(discoveryClient, meterRegistry,
+                // Hedged attempts run on these threads; carry the caller's trace onto them
+                ContextExecutorService.wrap(threads, ContextSnapshotFactory.builder().build()::captureAll),
+                windowSize, minSamples, minDelay, maxDelay);
+    }
+}
@@ -0,0 +1,92 @@
+package com.card_service.card_service.utilities;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Coalesces single-key lookups arriving within a short window into one bulk
+ * call. A batch is sent when the window after its first key closes or when it
+ * reaches max-size, whichever comes first. Concurrent lookups of the same key
+ * share one slot in the batch.
+ */
+public class MicroBatcher<K, V> {
+    private final Function<Set<K>, Map<K, V>> bulkLoader;
+    private final ScheduledExecutorService scheduler;
+    private final Duration window;
+    private final int maxSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+    public MicroBatcher(Function<Set<K>, Map<K, V>> bulkLoader, ScheduledExecutorService scheduler,
+                        Duration window, int maxSize) {
+        this.bulkLoader = bulkLoader;
+        this.scheduler = scheduler;
+        this.window = window;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Completes with the bulk loader's value for key (null when it has none), or
+     * exceptionally when the bulk call fails.
+     */
+    public CompletableFuture<V> submit(K key) {
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> full = null;
+        lock.lock();
+        try {
+            future = pending.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(key, future);
+                if (pending.size() == 1) {
+                    Map<K, CompletableFuture<V>> batch = pending;
+                    scheduler.schedule(() -> flush(batch), window.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                if (pending.size() >= maxSize) {
+                    full = pending;
+                    pending = new LinkedHashMap<>();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    private void flush(Map<K, CompletableFuture<V>> batch) {
+        lock.lock();
+        try {
+            if (pending != batch) {
+                // Already sent because it filled up
+                return;
+            }
+            pending = new LinkedHashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        try {
+            Map<K, V> values = bulkLoader.apply(batch.keySet());
+            batch.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (Throwable e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,30 @@
+package com.card_service.card_service.utilities;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs a sample of the SQL Hibernate prepares, in place of
+ * spring.jpa.show-sql, which prints every statement to stdout on the request
+ * thread. Statements are logged as prepared, with ? placeholders and no bound
+ * values, as the argument of a parameterized message, so the async appender
+ * does the formatting. A sample rate of 0 turns it off.
+ */
+@Slf4j
+public class SampledSqlLogger implements StatementInspector {
+    private final double sampleRate;
+
+    public SampledSqlLogger(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (sampleRate > 0 && log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("Sampled SQL: {}", sql);
+        }
+        return sql;
+    }
+}
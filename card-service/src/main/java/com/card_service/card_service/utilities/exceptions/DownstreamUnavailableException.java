@@ -0,0 +1,11 @@
+package com.card_service.card_service.utilities.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class DownstreamUnavailableException extends RuntimeException {
+    public DownstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,19 @@
+-- Schema as ddl-auto=update creates it; databases that already have it are baselined at this version
+create table card_sequences (
+    next_value bigint not null,
+    name varchar(255) not null,
+    primary key (name)
+);
+
+create table cards (
+    cvv varchar(3) not null,
+    id bigserial not null,
+    pan varchar(16) not null unique,
+    account_id varchar(255) not null,
+    card_alias varchar(255) not null,
+    card_id varchar(255),
+    deleted_flag varchar(255) not null,
+    primary_card_flag varchar(255),
+    type varchar(255) not null check (type in ('PHYSICAL','VIRTUAL')),
+    primary key (id)
+);
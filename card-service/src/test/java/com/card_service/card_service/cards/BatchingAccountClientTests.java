@@ -0,0 +1,59 @@
+package com.card_service.card_service.cards;
+
+import com.card_service.card_service.utilities.EntityResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BatchingAccountClientTests {
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final BatchingAccountClient client = new BatchingAccountClient(restTemplate, "http://account-service/",
+            Duration.ofMillis(100), 100, 2, Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        client.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fetchAccount_shouldCoalesceConcurrentLookupsIntoOneBatchCall() {
+        AccountDto account = new AccountDto();
+        account.setAccountId("1");
+        account.setCustomerId("CUS1");
+        EntityResponse<Map<String, AccountDto>> body = new EntityResponse<>();
+        body.setPayload(Map.of("1", account));
+        when(restTemplate.exchange(eq("http://account-service/accounts/batch-lookup"), eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<EntityResponse<Map<String, AccountDto>>>>any()))
+                .thenReturn(new ResponseEntity<>(body, HttpStatus.OK));
+
+        CompletableFuture<AccountDto> first = CompletableFuture.supplyAsync(() -> client.fetchAccount("1"));
+        CompletableFuture<AccountDto> second = CompletableFuture.supplyAsync(() -> client.fetchAccount("2"));
+
+        assertEquals("CUS1", first.join().getCustomerId());
+        assertNull(second.join());
+
+        ArgumentCaptor<HttpEntity<Map<String, List<String>>>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST), request.capture(),
+                ArgumentMatchers.<ParameterizedTypeReference<EntityResponse<Map<String, AccountDto>>>>any());
+        assertEquals(Set.of("1", "2"), Set.copyOf(request.getValue().getBody().get("accountIds")));
+    }
+}
@@ -0,0 +1,141 @@
+package com.card_service.card_service.cards;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CardSearchIndexTests {
+
+    @Mock
+    private CardsRepository cardsRepository;
+
+    @InjectMocks
+    private CardSearchIndex cardSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private Card card(long id, String alias, CardType type, String pan) {
+        Card card = new Card();
+        card.setId(id);
+        card.setCardAlias(alias);
+        card.setType(type);
+        card.setPan(pan);
+        return card;
+    }
+
+    private void build(Card... cards) {
+        when(cardsRepository.searchCardsAfter(isNull(), isNull(), isNull(), eq(0L), anyInt()))
+                .thenReturn(List.of(cards));
+        cardSearchIndex.rebuild();
+    }
+
+    private List<Long> ids(String alias, CardType type, String pan) {
+        List<Long> ids = new ArrayList<>();
+        cardSearchIndex.search(alias, type, pan).orElseThrow().after(0).forEachRemaining(ids::add);
+        return ids;
+    }
+
+    @Test
+    void search_shouldBeUnavailableUntilBuilt() {
+        assertTrue(cardSearchIndex.search("gold", null, null).isEmpty());
+    }
+
+    @Test
+    void search_shouldMatchAliasSubstringAndType() {
+        build(card(1, "Gold Travel", CardType.PHYSICAL, "5299990000001234"),
+                card(2, "Old Gold", CardType.VIRTUAL, "5299990000005678"),
+                card(3, "Groceries", CardType.VIRTUAL, "5299990000001234"));
+
+        assertEquals(List.of(1L, 2L), ids("gold", null, null));
+        assertEquals(List.of(2L), ids("GOLD", CardType.VIRTUAL, null));
+        assertEquals(List.of(2L, 3L), ids(null, CardType.VIRTUAL, null));
+        assertEquals(List.of(1L, 2L), ids("ol", null, null));
+        assertEquals(List.of(1L, 2L, 3L), ids(null, null, null));
+        // every trigram must be present, not just some of them
+        assertTrue(ids("goldtr", null, null).isEmpty());
+    }
+
+    @Test
+    void search_shouldLeavePanFiltersToTheDatabase() {
+        build(card(1, "Gold", CardType.PHYSICAL, "5299990000001234"));
+
+        // SQL matches the PAN as a substring; the index does not hold PANs at all
+        assertTrue(cardSearchIndex.search(null, null, "1234").isEmpty());
+        assertTrue(cardSearchIndex.search("gold", null, "5299990000001234").isEmpty());
+    }
+
+    @Test
+    void index_shouldReflectEditsAndDeletes() {
+        build(card(1, "Gold", CardType.PHYSICAL, "5299990000001234"));
+
+        Card edited = card(1, "Silver", CardType.PHYSICAL, "5299990000001234");
+        cardSearchIndex.index(edited);
+        cardSearchIndex.index(card(2, "Golden", CardType.VIRTUAL, "5299990000009999"));
+
+        assertEquals(List.of(2L), ids("gold", null, null));
+        assertEquals(List.of(1L), ids("silver", null, null));
+
+        cardSearchIndex.remove(2L);
+        assertTrue(ids("gold", null, null).isEmpty());
+
+        edited.setDeletedFlag("Y");
+        cardSearchIndex.index(edited);
+        assertTrue(ids(null, null, null).isEmpty());
+    }
+
+    @Test
+    void search_shouldReadMatchesAfterTheCursorAndCountThem() {
+        build(card(1, "Gold", CardType.PHYSICAL, "5299990000001234"),
+                card(2, "Gold", CardType.VIRTUAL, "5299990000001235"),
+                card(3, "Silver", CardType.VIRTUAL, "5299990000001236"),
+                card(4, "Gold", CardType.VIRTUAL, "5299990000001237"),
+                card(5, "Gold", CardType.VIRTUAL, "5299990000001238"));
+
+        CardSearchIndex.Matches matches = cardSearchIndex.search("gold", CardType.VIRTUAL, null).orElseThrow();
+        Iterator<Long> page = matches.after(2);
+
+        assertEquals(4L, page.next());
+        assertEquals(5L, page.next());
+        assertFalse(page.hasNext());
+        assertEquals(3, matches.count());
+    }
+
+    @Test
+    void catchUp_shouldAddCardsInsertedElsewhereSinceTheLastScan() {
+        build(card(1, "Gold", CardType.PHYSICAL, "5299990000001234"),
+                card(4, "Gold", CardType.VIRTUAL, "5299990000001237"));
+        // Indexed here, so it does not move the scan past rows other instances inserted
+        cardSearchIndex.index(card(9, "Gold", CardType.VIRTUAL, "5299990000001240"));
+        when(cardsRepository.searchCardsAfter(isNull(), isNull(), isNull(), eq(4L), anyInt()))
+                .thenReturn(List.of(card(6, "Golden", CardType.VIRTUAL, "5299990000001239")));
+
+        cardSearchIndex.catchUp();
+
+        assertEquals(List.of(1L, 4L, 6L, 9L), ids("gold", null, null));
+        verify(cardsRepository).searchCardsAfter(isNull(), isNull(), isNull(), eq(4L), anyInt());
+    }
+
+    @Test
+    void matches_shouldApplyTheQueryToTheLoadedRow() {
+        Card card = card(1, "Gold Travel", CardType.PHYSICAL, "5299990000001234");
+
+        assertTrue(CardSearchIndex.matches(card, "TRAVEL", CardType.PHYSICAL));
+        assertFalse(CardSearchIndex.matches(card, "silver", null));
+        assertFalse(CardSearchIndex.matches(card, null, CardType.VIRTUAL));
+        card.setDeletedFlag("Y");
+        assertFalse(CardSearchIndex.matches(card, null, null));
+    }
+}
@@ -141,6 +141,26 @@ public class CardsControllerTests {
         verify(cardsService).searchCards(any(CardFilterRequest.class));
     }
 
+    @Test
+    void searchCardsByCursor_shouldPassCursorToService() {
+        EntityResponse<CardSearchPage> responseFromService = new EntityResponse<>();
+        responseFromService.setStatusCode(200);
+        responseFromService.setPayload(new CardSearchPage());
+
+        when(cardsService.searchCardsByCursor(any(CardFilterRequest.class))).thenReturn(responseFromService);
+
+        ResponseEntity<?> response = cardsController.searchCardsByCursor(null, CardType.PHYSICAL, null, false, "cursor", 50, true);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(responseFromService, response.getBody());
+
+        ArgumentCaptor<CardFilterRequest> captor = ArgumentCaptor.forClass(CardFilterRequest.class);
+        verify(cardsService).searchCardsByCursor(captor.capture());
+        assertEquals("cursor", captor.getValue().getCursor());
+        assertEquals(50, captor.getValue().getSize());
+        assertTrue(captor.getValue().isIncludeCount());
+    }
+
     private static EntityResponse<List<Card>> getListEntityResponse(String pan, String cardAlias) {
         Card rawCard = new Card();
         rawCard.setPan(pan);
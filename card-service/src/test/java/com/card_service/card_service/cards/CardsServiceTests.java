@@ -1,13 +1,20 @@
 package com.card_service.card_service.cards;
 
 import com.card_service.card_service.utilities.EntityResponse;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,8 +24,25 @@ public class CardsServiceTests {
     @Mock
     private CardsRepository cardsRepository;
 
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+
+    private final AccountClient accountClient = new RestTemplateAccountClient(restTemplate, "http://account-service/");
+
+    @Spy
+    private ResilientAccountClient resilientAccountClient = new ResilientAccountClient(accountClient,
+            CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), 100, Duration.ofHours(1));
+
     @Mock
-    private RestTemplate restTemplate;
+    private CardIdentifierGenerator cardIdentifierGenerator;
+
+    @Mock
+    private CardSearchIndex cardSearchIndex;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private AccountLookupCache accountLookupCache =
+            new AccountLookupCache(100, Duration.ofMinutes(10), meterRegistry);
 
     @InjectMocks
     private CardsService cardsService;
@@ -57,8 +81,9 @@ public class CardsServiceTests {
         // Mock save to return the saved card object
         when(cardsRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        // Mock last card id for generateCardId
-        when(cardsRepository.findLastCardIdForYear(anyString())).thenReturn(null);
+        // Mock identifiers handed out by the generator
+        when(cardIdentifierGenerator.nextCardId()).thenReturn("C202600001");
+        when(cardIdentifierGenerator.nextPan()).thenReturn("5299990000000013");
 
         EntityResponse<Card> response = cardsService.createCard(dto);
 
@@ -68,6 +93,9 @@ public class CardsServiceTests {
         assertEquals(dto.getAccountId(), response.getPayload().getAccountId());
         assertEquals(dto.getType(), response.getPayload().getType());
         assertEquals(dto.getCardAlias(), response.getPayload().getCardAlias());
+        assertEquals("C202600001", response.getPayload().getCardId());
+        assertEquals("5299990000000013", response.getPayload().getPan());
+        verify(cardsRepository, never()).findLastCardIdForYear(anyString());
     }
 
     @Test
@@ -155,4 +183,252 @@ public class CardsServiceTests {
         assertEquals("1234567812345678", response.getPayload().get(0).getPan());
         assertEquals("123", response.getPayload().get(0).getCvv());
     }
+
+    private Card cardWithId(long id) {
+        Card card = new Card();
+        card.setId(id);
+        card.setPan("529999000000" + (1000 + id));
+        card.setCvv("123");
+        return card;
+    }
+
+    private Card cardWithId(long id, String alias, CardType type) {
+        Card card = cardWithId(id);
+        card.setCardAlias(alias);
+        card.setType(type);
+        return card;
+    }
+
+    @Test
+    void searchCardsByCursor_shouldReturnNextCursorAndMaskWithoutCounting() {
+        when(cardsRepository.searchCardsAfter(isNull(), eq("VIRTUAL"), isNull(), eq(0L), eq(3)))
+                .thenReturn(new ArrayList<>(List.of(cardWithId(1), cardWithId(2), cardWithId(3))));
+
+        CardFilterRequest request = new CardFilterRequest();
+        request.setType(CardType.VIRTUAL);
+        request.setSize(2);
+
+        EntityResponse<CardSearchPage> response = cardsService.searchCardsByCursor(request);
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(2, response.getPayload().getContent().size());
+        assertEquals("**** **** **** 1002", response.getPayload().getContent().get(1).getPan());
+        assertEquals(2L, CardSearchCursor.decode(response.getPayload().getNextCursor()));
+        assertNull(response.getPayload().getTotalItems());
+        verify(cardsRepository, never()).countCards(any(), any(), any());
+    }
+
+    @Test
+    void searchCardsByCursor_shouldResumeAfterCursorAndCountWhenAsked() {
+        when(cardsRepository.searchCardsAfter(isNull(), isNull(), isNull(), eq(10L), eq(11)))
+                .thenReturn(List.of(cardWithId(11)));
+        when(cardsRepository.countCards(null, null, null)).thenReturn(11L);
+
+        CardFilterRequest request = new CardFilterRequest();
+        request.setCursor(CardSearchCursor.encode(10L));
+        request.setIncludeCount(true);
+        request.setShowSensitive(true);
+
+        EntityResponse<CardSearchPage> response = cardsService.searchCardsByCursor(request);
+
+        assertEquals(200, response.getStatusCode());
+        assertNull(response.getPayload().getNextCursor());
+        assertEquals("5299990000001011", response.getPayload().getContent().get(0).getPan());
+        assertEquals(11L, response.getPayload().getTotalItems());
+    }
+
+    @Test
+    void searchCardsByCursor_shouldRejectInvalidCursor() {
+        CardFilterRequest request = new CardFilterRequest();
+        request.setCursor("bogus");
+
+        EntityResponse<CardSearchPage> response = cardsService.searchCardsByCursor(request);
+
+        assertEquals(400, response.getStatusCode());
+        assertEquals("Invalid cursor", response.getMessage());
+    }
+
+    @Test
+    void searchCards_shouldHydrateOnlyTheIndexedPage() {
+        when(cardSearchIndex.search("gold", null, null))
+                .thenReturn(Optional.of(matches(3L, 7L, 9L, 12L)));
+        when(cardsRepository.findAllById(List.of(9L, 12L)))
+                .thenReturn(List.of(cardWithId(12, "Gold", CardType.PHYSICAL), cardWithId(9, "Old Gold", CardType.VIRTUAL)));
+
+        CardFilterRequest request = new CardFilterRequest();
+        request.setCardAlias("gold");
+        request.setPage(1);
+        request.setSize(2);
+
+        EntityResponse<List<Card>> response = cardsService.searchCards(request);
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(List.of(9L, 12L), response.getPayload().stream().map(Card::getId).toList());
+        assertEquals("**** **** **** 1009", response.getPayload().get(0).getPan());
+        verify(cardsRepository, never()).searchCardsNative(any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchCardsByCursor_shouldAnswerFromIndexAndCountFromPostings() {
+        when(cardSearchIndex.search(null, CardType.VIRTUAL, null))
+                .thenReturn(Optional.of(matches(3L, 7L, 9L)));
+        when(cardsRepository.findAllById(List.of(7L, 9L)))
+                .thenReturn(List.of(cardWithId(7, null, CardType.VIRTUAL), cardWithId(9, null, CardType.VIRTUAL)));
+
+        CardFilterRequest request = new CardFilterRequest();
+        request.setType(CardType.VIRTUAL);
+        request.setCursor(CardSearchCursor.encode(3L));
+        request.setIncludeCount(true);
+        request.setSize(1);
+
+        EntityResponse<CardSearchPage> response = cardsService.searchCardsByCursor(request);
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(1, response.getPayload().getContent().size());
+        assertEquals(7L, CardSearchCursor.decode(response.getPayload().getNextCursor()));
+        assertEquals(3L, response.getPayload().getTotalItems());
+        verify(cardsRepository, never()).searchCardsAfter(any(), any(), any(), anyLong(), anyInt());
+        verify(cardsRepository, never()).countCards(any(), any(), any());
+    }
+
+    @Test
+    void searchCardsByCursor_shouldRefillThePageWhenIndexedCardsWereDeletedElsewhere() {
+        when(cardSearchIndex.search(null, null, null))
+                .thenReturn(Optional.of(matches(3L, 7L, 9L, 12L)));
+        Card deleted = cardWithId(7);
+        deleted.setDeletedFlag("Y");
+        // 3 and 7 were deleted on another instance; 3 is gone, 7 is soft-deleted
+        when(cardsRepository.findAllById(List.of(3L, 7L))).thenReturn(List.of(deleted));
+        when(cardsRepository.findAllById(List.of(9L, 12L))).thenReturn(List.of(cardWithId(9), cardWithId(12)));
+
+        CardFilterRequest request = new CardFilterRequest();
+        request.setSize(1);
+
+        EntityResponse<CardSearchPage> response = cardsService.searchCardsByCursor(request);
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(List.of(9L), response.getPayload().getContent().stream().map(Card::getId).toList());
+        assertEquals(9L, CardSearchCursor.decode(response.getPayload().getNextCursor()));
+    }
+
+    @Test
+    void searchCardsByCursor_shouldSkipIndexedCardsEditedElsewhereThatNoLongerMatch() {
+        when(cardSearchIndex.search("gold", null, null))
+                .thenReturn(Optional.of(matches(3L, 9L)));
+        // 3 was renamed on another instance after the index last saw it
+        when(cardsRepository.findAllById(List.of(3L, 9L)))
+                .thenReturn(List.of(cardWithId(3, "Silver", CardType.PHYSICAL), cardWithId(9, "Gold", CardType.PHYSICAL)));
+
+        CardFilterRequest request = new CardFilterRequest();
+        request.setCardAlias("gold");
+        request.setSize(5);
+
+        EntityResponse<CardSearchPage> response = cardsService.searchCardsByCursor(request);
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(List.of(9L), response.getPayload().getContent().stream().map(Card::getId).toList());
+    }
+
+    private static CardSearchIndex.Matches matches(Long... ids) {
+        TreeSet<Long> matched = new TreeSet<>(List.of(ids));
+        return afterId -> matched.tailSet(afterId, false).iterator();
+    }
+
+    private void stubAccountFound() {
+        AccountDto accountDto = new AccountDto();
+        accountDto.setAccountId("1");
+        accountDto.setCustomerId("100");
+        EntityResponse<AccountDto> accountResponse = new EntityResponse<>();
+        accountResponse.setPayload(accountDto);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(),
+                ArgumentMatchers.<ParameterizedTypeReference<EntityResponse<AccountDto>>>any()))
+                .thenReturn(new ResponseEntity<>(accountResponse, HttpStatus.OK));
+        when(cardsRepository.findByAccountId("1")).thenReturn(Collections.emptyList());
+        when(cardsRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private CardDto cardRequest(CardType type) {
+        CardDto dto = new CardDto();
+        dto.setAccountId("1");
+        dto.setType(type);
+        dto.setCvv("123");
+        return dto;
+    }
+
+    @Test
+    void createCard_shouldRejectAccountOfAnotherCustomer() {
+        stubAccountFound();
+        CardDto dto = cardRequest(CardType.PHYSICAL);
+        dto.setCustomerId("200");
+
+        EntityResponse<Card> response = cardsService.createCard(dto);
+
+        assertEquals(400, response.getStatusCode());
+        assertEquals("Account does not belong to the provided customer", response.getMessage());
+        verify(cardsRepository, never()).save(any(Card.class));
+
+        dto.setCustomerId("100");
+        assertEquals(201, cardsService.createCard(dto).getStatusCode());
+    }
+
+    @Test
+    void createCard_shouldReuseCachedAccountAndRecordHits() {
+        stubAccountFound();
+
+        assertEquals(201, cardsService.createCard(cardRequest(CardType.PHYSICAL)).getStatusCode());
+        assertEquals(201, cardsService.createCard(cardRequest(CardType.VIRTUAL)).getStatusCode());
+
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), isNull(),
+                ArgumentMatchers.<ParameterizedTypeReference<EntityResponse<AccountDto>>>any());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", AccountLookupCache.NAME).tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", AccountLookupCache.NAME).tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void createCard_shouldReturnNotFoundWithoutCachingWhenAccountIsMissing() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(),
+                ArgumentMatchers.<ParameterizedTypeReference<EntityResponse<AccountDto>>>any()))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+
+        assertEquals(404, cardsService.createCard(cardRequest(CardType.PHYSICAL)).getStatusCode());
+        assertEquals(404, cardsService.createCard(cardRequest(CardType.PHYSICAL)).getStatusCode());
+
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), isNull(),
+                ArgumentMatchers.<ParameterizedTypeReference<EntityResponse<AccountDto>>>any());
+        verify(cardsRepository, never()).save(any());
+    }
+
+    @Test
+    void handleAccountChange_shouldEvictCachedAccount() {
+        stubAccountFound();
+        cardsService.createCard(cardRequest(CardType.PHYSICAL));
+
+        AccountChangeEvent event = new AccountChangeEvent();
+        event.setAccountId("1");
+        event.setType("UPDATED");
+        assertEquals(401, cardsService.handleAccountChange(event, "secret").getStatusCode());
+        ReflectionTestUtils.setField(cardsService, "eventsToken", "secret");
+        assertEquals(401, cardsService.handleAccountChange(event, "guess").getStatusCode());
+        assertEquals(202, cardsService.handleAccountChange(event, "secret").getStatusCode());
+        cardsService.createCard(cardRequest(CardType.VIRTUAL));
+
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), isNull(),
+                ArgumentMatchers.<ParameterizedTypeReference<EntityResponse<AccountDto>>>any());
+        assertEquals(400, cardsService.handleAccountChange(new AccountChangeEvent(), "secret").getStatusCode());
+    }
+
+    @Test
+    void createCard_shouldReturnServiceUnavailableWhenAccountServiceIsDown() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(),
+                ArgumentMatchers.<ParameterizedTypeReference<EntityResponse<AccountDto>>>any()))
+                .thenThrow(new ResourceAccessException("connect timed out"));
+
+        EntityResponse<Card> response = cardsService.createCard(cardRequest(CardType.PHYSICAL));
+
+        assertEquals(503, response.getStatusCode());
+        assertEquals("Account service unavailable", response.getMessage());
+        verify(cardsRepository, never()).save(any());
+    }
 }
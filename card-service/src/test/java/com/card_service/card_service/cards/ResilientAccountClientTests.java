@@ -0,0 +1,72 @@
+package com.card_service.card_service.cards;
+
+import com.card_service.card_service.utilities.exceptions.DownstreamUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ResilientAccountClientTests {
+
+    private ResilientAccountClient client(AccountClient accountClient, int maxConcurrentCalls) {
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        return new ResilientAccountClient(accountClient, CircuitBreakerRegistry.ofDefaults(), bulkheadRegistry,
+                100, Duration.ofHours(1));
+    }
+
+    @Test
+    void fetchAccount_shouldFallBackToLastKnownAccount() {
+        AccountClient accountClient = mock(AccountClient.class);
+        AccountDto account = new AccountDto();
+        account.setAccountId("1");
+        when(accountClient.fetchAccount("1"))
+                .thenReturn(account)
+                .thenThrow(new ResourceAccessException("read timed out"));
+        ResilientAccountClient resilientClient = client(accountClient, 5);
+
+        assertSame(account, resilientClient.fetchAccount("1"));
+        // The cached answer is shared by every fallback, so each gets a copy
+        AccountDto fallback = resilientClient.fetchAccount("1");
+        assertEquals(account, fallback);
+        assertNotSame(account, fallback);
+    }
+
+    @Test
+    void fetchAccount_shouldShedCallsBeyondTheBulkhead() throws Exception {
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AccountClient accountClient = accountId -> {
+            inFlight.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new AccountDto();
+        };
+        ResilientAccountClient resilientClient = client(accountClient, 1);
+
+        Thread slowCall = new Thread(() -> resilientClient.fetchAccount("1"));
+        slowCall.start();
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        DownstreamUnavailableException shed =
+                assertThrows(DownstreamUnavailableException.class, () -> resilientClient.fetchAccount("2"));
+        assertInstanceOf(BulkheadFullException.class, shed.getCause());
+
+        release.countDown();
+        slowCall.join();
+    }
+}
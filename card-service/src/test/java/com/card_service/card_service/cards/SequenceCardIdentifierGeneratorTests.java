@@ -0,0 +1,107 @@
+package com.card_service.card_service.cards;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SequenceCardIdentifierGeneratorTests {
+
+    @Mock
+    private CardSequenceRepository sequenceRepository;
+
+    @Mock
+    private CardsRepository cardsRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private SequenceCardIdentifierGenerator generator;
+
+    private final Map<String, CardSequence> table = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(generator, "blockSize", 10);
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        when(sequenceRepository.findByNameForUpdate(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(table.get(invocation.<String>getArgument(0))));
+        when(sequenceRepository.saveAndFlush(any(CardSequence.class)))
+                .thenAnswer(invocation -> {
+                    CardSequence sequence = invocation.getArgument(0);
+                    table.put(sequence.getName(), sequence);
+                    return sequence;
+                });
+    }
+
+    @Test
+    void nextCardId_continuesAfterExistingCardIds() {
+        String prefix = "C" + LocalDate.now().getYear();
+        when(cardsRepository.findLastCardIdForYear(prefix)).thenReturn(prefix + "00041");
+
+        assertEquals(prefix + "00042", generator.nextCardId());
+        assertEquals(prefix + "00043", generator.nextCardId());
+    }
+
+    @Test
+    void nextPan_isSixteenDigitsWithValidLuhnCheckDigit() {
+        String pan = generator.nextPan();
+
+        assertEquals(16, pan.length());
+        assertTrue(pan.startsWith("529999"));
+        assertEquals(pan.charAt(15) - '0', SequenceCardIdentifierGenerator.luhnCheckDigit(pan.substring(0, 15)));
+        verify(cardsRepository, never()).findLastCardIdForYear(anyString());
+    }
+
+    @Test
+    void luhnCheckDigit_matchesKnownValues() {
+        assertEquals(3, SequenceCardIdentifierGenerator.luhnCheckDigit("7992739871"));
+        assertEquals(1, SequenceCardIdentifierGenerator.luhnCheckDigit("411111111111111"));
+    }
+
+    @Test
+    void cardIdsAndPansUseSeparateRanges() {
+        generator.nextCardId();
+        generator.nextCardId();
+        generator.nextPan();
+
+        assertEquals(11L, table.get(SequenceCardIdentifierGenerator.PAN_SEQUENCE).getNextValue());
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void concurrentCallersNeverShareAPan() throws Exception {
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    issued.add(generator.nextPan());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(threads * perThread, issued.size());
+    }
+}
@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Customer name search benchmark.
+#
+#   ./run.sh [seed]
+#
+# With "seed", loads 1M customers first (see seed.sql). Then runs search.sql
+# through pgbench for DURATION seconds with CLIENTS connections, once without
+# and once with the pg_trgm indexes that CustomerSearchIndexInitializer
+# creates, and prints p50/p95/p99 latency for each run.
+set -euo pipefail
+
+DB=${DB:-customers_db}
+CLIENTS=${CLIENTS:-8}
+DURATION=${DURATION:-60}
+HERE=$(cd "$(dirname "$0")" && pwd)
+WORK=$(mktemp -d)
+
+if [[ "${1:-}" == "seed" ]]; then
+  psql -v ON_ERROR_STOP=1 -d "$DB" -f "$HERE/seed.sql"
+fi
+
+percentiles() {
+  # pgbench --log lines: client tx latency_us script epoch epoch_us
+  cat "$WORK"/pgbench_log.* | awk '{print $3}' | sort -n | awk -v label="$1" '
+    { v[NR] = $1 }
+    END {
+      printf "%-12s n=%d p50=%.2fms p95=%.2fms p99=%.2fms\n", label, NR,
+        v[int(NR * 0.50)] / 1000, v[int(NR * 0.95)] / 1000, v[int(NR * 0.99)] / 1000
+    }'
+  rm -f "$WORK"/pgbench_log.*
+}
+
+run() {
+  (cd "$WORK" && pgbench -n -f "$HERE/search.sql" -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" --log "$DB" > /dev/null)
+  percentiles "$1"
+}
+
+psql -q -d "$DB" -c "DROP INDEX IF EXISTS idx_customers_first_name_trgm, idx_customers_last_name_trgm, idx_customers_created_at"
+run "seqscan"
+
+psql -q -d "$DB" -c "CREATE EXTENSION IF NOT EXISTS pg_trgm" \
+  -c "CREATE INDEX IF NOT EXISTS idx_customers_first_name_trgm ON customers USING gin (first_name gin_trgm_ops)" \
+  -c "CREATE INDEX IF NOT EXISTS idx_customers_last_name_trgm ON customers USING gin (last_name gin_trgm_ops)" \
+  -c "CREATE INDEX IF NOT EXISTS idx_customers_created_at ON customers (created_at)" \
+  -c "ANALYZE customers"
+run "trigram"
+
+rm -rf "$WORK"
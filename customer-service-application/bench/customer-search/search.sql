@@ -0,0 +1,7 @@
+-- pgbench script: the same statement CustomerRepository.findByKeywordAndDateRange issues.
+\set n random(1, 996)
+SELECT * FROM customers c
+WHERE (c.first_name ILIKE '%tony' || :n || '%' OR c.last_name ILIKE '%tony' || :n || '%')
+  AND c.created_at BETWEEN '2025-03-01' AND '2025-06-30'
+ORDER BY c.created_at DESC
+LIMIT 10;
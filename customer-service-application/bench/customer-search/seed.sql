@@ -0,0 +1,12 @@
+-- Seeds :rows synthetic customers (default 1,000,000) for the search benchmark.
+-- Run against an empty customers_db after the service has created its schema.
+\set rows 1000000
+INSERT INTO customers (customer_id, first_name, last_name, other_name, created_at, deleted_flag)
+SELECT 'CUS' || to_char(date '2025-01-01' + (g % 365), 'YYYY') || lpad(g::text, 7, '0'),
+       (ARRAY['Antony','Brian','Cynthia','Dorcas','Evans','Faith','George','Hellen','Ian','Joyce'])[1 + g % 10] || (g % 997),
+       (ARRAY['Kamau','Otieno','Wanjiru','Mwangi','Achieng','Kiptoo','Njeri','Omondi','Chebet','Mutua'])[1 + (g / 10) % 10] || (g % 1009),
+       NULL,
+       date '2025-01-01' + (g % 365),
+       'N'
+FROM generate_series(1, :rows) AS g;
+ANALYZE customers;
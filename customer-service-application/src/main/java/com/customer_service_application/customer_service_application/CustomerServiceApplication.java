@@ -2,8 +2,10 @@ package com.customer_service_application.customer_service_application;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
 
 @SpringBootApplication
+@EnableAsync
 public class CustomerServiceApplication {
 
 
@@ -0,0 +1,59 @@
+package com.customer_service_application.customer_service_application.configurations;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import com.customer_service_application.customer_service_application.utilities.MeteredAsyncAppender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Publishes the async log appenders' queue depth (logging.async.queue.size)
+ * and what they threw away: logging.async.discarded for INFO and below shed
+ * past the discarding threshold, logging.async.dropped for events lost to a
+ * full queue. Appenders are looked up by name on every read, so the meters
+ * keep working after logback reloads logback-spring.xml.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        for (Iterator<Appender<ILoggingEvent>> appenders = root.iteratorForAppenders(); appenders.hasNext(); ) {
+            if (!(appenders.next() instanceof MeteredAsyncAppender appender)) {
+                continue;
+            }
+            String name = appender.getName();
+            Gauge.builder("logging.async.queue.size", root, logger -> queued(logger, name))
+                    .description("Log events waiting for the background appender thread")
+                    .tag("appender", name)
+                    .register(registry);
+            FunctionCounter.builder("logging.async.discarded", name, MeteredAsyncAppender::discarded)
+                    .description("INFO and lower events discarded because the queue was nearly full")
+                    .tag("appender", name)
+                    .register(registry);
+            FunctionCounter.builder("logging.async.dropped", name, MeteredAsyncAppender::dropped)
+                    .description("Log events dropped because the queue was full")
+                    .tag("appender", name)
+                    .register(registry);
+        }
+    }
+
+    private static double queued(Logger root, String name) {
+        return root.getAppender(name) instanceof AsyncAppenderBase<?> appender
+                ? appender.getNumberOfElementsInQueue()
+                : 0;
+    }
+}
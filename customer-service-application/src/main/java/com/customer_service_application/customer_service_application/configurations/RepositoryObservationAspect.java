@@ -0,0 +1,50 @@
+package com.customer_service_application.customer_service_application.configurations;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens a repository.call span around every repository method, named after
+ * the repository interface and method (customer-repository.find-by-customer-id in the
+ * exported spans), so the database time of a request shows up in its trace.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryObservationAspect {
+    public static final String OBSERVATION = "repository.call";
+
+    private final ObservationRegistry observationRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.customer_service_application.customer_service_application..*Repository.*(..))")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint.getTarget().getClass());
+        String method = joinPoint.getSignature().getName();
+        return Observation.createNotStarted(OBSERVATION, observationRegistry)
+                .contextualName(repository + "." + method)
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", method)
+                .observeChecked(() -> joinPoint.proceed());
+    }
+
+    // The target is the Spring Data proxy; name it after the interface it implements from this service
+    private String repositoryName(Class<?> target) {
+        return repositoryNames.computeIfAbsent(target, type -> {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (candidate.getName().startsWith("com.customer_service_application.customer_service_application.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.customer_service_application.customer_service_application.configurations;
+
+import com.customer_service_application.customer_service_application.utilities.SampledSqlLogger;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SqlLoggingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sampledSqlLogging(@Value("${sql-logging.sample-rate:0.01}") double sampleRate) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SampledSqlLogger(sampleRate));
+    }
+}
@@ -0,0 +1,46 @@
+package com.customer_service_application.customer_service_application.configurations;
+
+import com.customer_service_application.customer_service_application.utilities.FileSpanExporter;
+import io.micrometer.common.KeyValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class TracingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "tracing.export.enabled", havingValue = "true")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.export.file:logs/spans.ndjson}") String file)
+            throws IOException {
+        return new FileSpanExporter(Path.of(file));
+    }
+
+    // Carries the current trace into @Async methods, so change events show up under the request that caused them
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    // The clients put ids in the query string; keep them out of the uri tag on http.client.requests
+    @Bean
+    public ClientRequestObservationConvention clientRequestObservationConvention() {
+        return new DefaultClientRequestObservationConvention() {
+            @Override
+            protected KeyValue uri(ClientRequestObservationContext context) {
+                KeyValue uri = super.uri(context);
+                int query = uri.getValue().indexOf('?');
+                return query < 0 ? uri : KeyValue.of(uri.getKey(), uri.getValue().substring(0, query));
+            }
+        };
+    }
+}
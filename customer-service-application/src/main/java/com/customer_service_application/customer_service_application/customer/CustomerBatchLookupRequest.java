@@ -0,0 +1,10 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CustomerBatchLookupRequest {
+    private List<String> customerIds;
+}
@@ -0,0 +1,21 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CustomerBulkResult {
+    private long received;
+    private long created;
+    private long failed;
+    /**
+     * One entry per row that was not created, up to
+     * customer-bulk.max-reported-failures; failed counts them all and created
+     * rows are only counted.
+     */
+    private List<CustomerBulkRowResult> failures = new ArrayList<>();
+    /** Row the body could not be read at; neither it nor later rows were loaded. */
+    private Long stoppedAtRow;
+}
@@ -0,0 +1,13 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBulkRowResult {
+    private long row;
+    private String message;
+}
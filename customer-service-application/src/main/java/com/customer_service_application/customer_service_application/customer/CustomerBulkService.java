@@ -0,0 +1,140 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import com.customer_service_application.customer_service_application.utilities.EntityResponse;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads customers from a JSON array or NDJSON stream in chunks. Each chunk gets
+ * its customer IDs from one reserved block and is written with a single JDBC
+ * batch in its own transaction, bypassing the IDENTITY-bound JPA save path.
+ */
+@Service
+public class CustomerBulkService {
+    static final String INSERT_SQL = "INSERT INTO customers " +
+            "(customer_id, first_name, last_name, other_name, created_at, deleted_flag) " +
+            "VALUES (?, ?, ?, ?, ?, 'N')";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    CustomerIdService customerIdService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${customer-bulk.chunk-size:1000}")
+    int defaultChunkSize = 1000;
+
+    // Caps the chunkSize a request can ask for: a chunk is held in memory, reserves
+    // that many ids and is inserted in one transaction
+    @Value("${customer-bulk.max-chunk-size:5000}")
+    int maxChunkSize = 5000;
+
+    @Value("${customer-bulk.max-reported-failures:1000}")
+    int maxReportedFailures = 1000;
+
+    public EntityResponse<CustomerBulkResult> bulkCreate(InputStream body, Integer chunkSize) {
+        EntityResponse<CustomerBulkResult> response = new EntityResponse<>();
+        CustomerBulkResult result = new CustomerBulkResult();
+        response.setPayload(result);
+        int size = Math.min(chunkSize != null && chunkSize > 0 ? chunkSize : defaultChunkSize, maxChunkSize);
+        List<CustomerDto> chunk = new ArrayList<>(size);
+        List<Long> chunkRows = new ArrayList<>(size);
+        long row = 0;
+
+        try (MappingIterator<CustomerDto> rows = objectMapper.readerFor(CustomerDto.class).readValues(body)) {
+            while (rows.hasNextValue()) {
+                CustomerDto dto = rows.nextValue();
+                result.setReceived(result.getReceived() + 1);
+
+                String invalid = validate(dto);
+                if (invalid != null) {
+                    fail(result, row, invalid);
+                } else {
+                    chunk.add(dto);
+                    chunkRows.add(row);
+                }
+                row++;
+
+                if (chunk.size() == size) {
+                    insertChunk(chunk, chunkRows, result);
+                    chunk.clear();
+                    chunkRows.clear();
+                }
+            }
+        } catch (Exception e) {
+            // Earlier chunks are committed; the rows read since then are just as valid,
+            // so they are loaded too and the response says where reading stopped
+            insertChunk(chunk, chunkRows, result);
+            result.setStoppedAtRow(row);
+            response.setMessage("Error: could not read row " + row + ", it and later rows were not loaded: " + e.getMessage());
+            response.setStatusCode(result.getCreated() > 0 ? HttpStatus.MULTI_STATUS.value() : HttpStatus.BAD_REQUEST.value());
+            return response;
+        }
+        insertChunk(chunk, chunkRows, result);
+
+        response.setMessage("Bulk load completed");
+        response.setStatusCode(result.getFailed() == 0 ? HttpStatus.CREATED.value() : HttpStatus.MULTI_STATUS.value());
+        return response;
+    }
+
+    private void insertChunk(List<CustomerDto> chunk, List<Long> chunkRows, CustomerBulkResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> ids = customerIdService.reserveCustomerIds(chunk.size());
+            Date createdAt = Date.valueOf(LocalDate.now());
+
+            List<Object[]> batch = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                CustomerDto dto = chunk.get(i);
+                batch.add(new Object[]{ids.get(i), dto.getFirstName(), dto.getLastName(), dto.getOtherName(), createdAt});
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+
+            result.setCreated(result.getCreated() + chunk.size());
+        } catch (Exception e) {
+            for (Long row : chunkRows) {
+                fail(result, row, "Error: " + e.getMessage());
+            }
+        }
+    }
+
+    private String validate(CustomerDto dto) {
+        if (dto == null) {
+            return "Empty row";
+        }
+        if (dto.getFirstName() == null || dto.getFirstName().isBlank()) {
+            return "firstName is required";
+        }
+        if (dto.getLastName() == null || dto.getLastName().isBlank()) {
+            return "lastName is required";
+        }
+        return null;
+    }
+
+    private void fail(CustomerBulkResult result, long row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getFailures().size() < maxReportedFailures) {
+            result.getFailures().add(new CustomerBulkRowResult(row, message));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerChangeEvent {
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+    // Carries service-events.token; subscribers reject events without it
+    public static final String TOKEN_HEADER = "X-Events-Token";
+
+    private String customerId;
+    private String type;
+}
@@ -0,0 +1,104 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Tells downstream services that hold customer lookups (account-service's
+ * existence cache) that a customer changed. A subscriber URL's host is a
+ * service id and every instance discovered under it gets the event, since each
+ * instance has its own cache; hosts discovery does not know are called as
+ * given. Events carry service-events.token, which subscribers check, so
+ * nothing is sent while it is unset. Delivery
+ * is best effort and off the request thread; subscribers bound staleness with
+ * their own TTLs.
+ */
+@Slf4j
+@Component
+public class CustomerChangePublisher {
+    private final DiscoveryClient discoveryClient;
+    private final RestTemplate restTemplate;
+
+    @Value("${customer-events.subscribers:}")
+    List<String> subscribers = List.of();
+
+    @Value("${service-events.token:}")
+    String eventsToken = "";
+
+    @Autowired
+    public CustomerChangePublisher(DiscoveryClient discoveryClient,
+                                   HttpClient httpClient,
+                                   ObservationRegistry observationRegistry,
+                                   ClientRequestObservationConvention clientRequestObservationConvention) {
+        // The shared pooled HttpClient without the load-balancer interceptor
+        this(discoveryClient, new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient)));
+        restTemplate.setObservationRegistry(observationRegistry);
+        restTemplate.setObservationConvention(clientRequestObservationConvention);
+    }
+
+    CustomerChangePublisher(DiscoveryClient discoveryClient, RestTemplate restTemplate) {
+        this.discoveryClient = discoveryClient;
+        this.restTemplate = restTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warnIfTokenMissing() {
+        if (!subscribers.isEmpty() && !StringUtils.hasText(eventsToken)) {
+            log.warn("service-events.token is not set; customer change events will not be published to {}", subscribers);
+        }
+    }
+
+    @Async
+    public void publish(String customerId, String type) {
+        // Subscribers would reject every event without the token
+        if (!StringUtils.hasText(eventsToken)) {
+            return;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(CustomerChangeEvent.TOKEN_HEADER, eventsToken);
+        HttpEntity<CustomerChangeEvent> event = new HttpEntity<>(new CustomerChangeEvent(customerId, type), headers);
+        for (String subscriber : subscribers) {
+            for (String target : targets(subscriber)) {
+                try {
+                    restTemplate.postForEntity(target, event, Void.class);
+                } catch (Exception e) {
+                    log.warn("Could not deliver {} event for customer {} to {}: {}",
+                            type, customerId, target, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private List<String> targets(String subscriber) {
+        URI uri = URI.create(subscriber);
+        List<ServiceInstance> instances = uri.getHost() != null ? discoveryClient.getInstances(uri.getHost()) : List.of();
+        if (instances.isEmpty()) {
+            return List.of(subscriber);
+        }
+        return instances.stream()
+                .map(instance -> UriComponentsBuilder.fromUri(instance.getUri())
+                        .path(uri.getRawPath())
+                        .query(uri.getRawQuery())
+                        .toUriString())
+                .toList();
+    }
+}
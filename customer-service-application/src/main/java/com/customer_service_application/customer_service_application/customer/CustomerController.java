@@ -1,13 +1,19 @@
 package com.customer_service_application.customer_service_application.customer;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDate;
 
 @RestController
@@ -16,18 +22,52 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private CustomerBulkService customerBulkService;
+
+    @Autowired
+    private CustomerExportService customerExportService;
+
     @PostMapping
     public ResponseEntity<?> create(@RequestBody CustomerDto customer) {
         var response= customerService.create(customer);
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> bulkCreate(HttpServletRequest request,
+                                        @RequestParam(value = "chunkSize", required = false) Integer chunkSize) throws IOException {
+        var response= customerBulkService.bulkCreate(request.getInputStream(), chunkSize);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
 
+    /**
+     * Loads every customer into one response; prefer {@code GET /customers/export}
+     * for anything but small tables.
+     */
     @GetMapping("/all")
     public ResponseEntity<?> fetchAll() {
         var response= customerService.fetchAll();
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "format", defaultValue = CustomerExportService.NDJSON) String format,
+            @RequestParam(value = "afterId", required = false) Long afterId,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+
+        if (!CustomerExportService.isSupportedFormat(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+
+        MediaType mediaType = CustomerExportService.CSV.equalsIgnoreCase(format)
+                ? new MediaType("text", "csv")
+                : MediaType.APPLICATION_NDJSON;
+        StreamingResponseBody body = out -> customerExportService.export(out, format, afterId, limit);
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
     @GetMapping("search")
     public ResponseEntity<?> searchCustomers(
             @RequestParam("q") String keyword,
@@ -42,6 +82,12 @@ public class CustomerController {
     }
 
 
+    @PostMapping("/batch-lookup")
+    public ResponseEntity<?> batchLookup(@RequestBody CustomerBatchLookupRequest request) {
+        var response = customerService.batchLookup(request.getCustomerIds());
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
     @GetMapping()
     public ResponseEntity<?> fetchByCustomerId(@RequestParam String customerId) {
         var response= customerService.fetchById(customerId);
@@ -0,0 +1,139 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams the customers table to an output stream in id order. Rows are read
+ * through a server-side cursor (fetch size inside a transaction) and
+ * written one at a time, so memory stays flat whatever the table size.
+ * Exports resume from the last written id via {@code afterId}.
+ */
+@Service
+public class CustomerExportService {
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+
+    static final String EXPORT_SQL = "SELECT id, customer_id, first_name, last_name, other_name, " +
+            "created_at, updated_at, deleted_flag FROM customers WHERE id > ? ORDER BY id";
+
+    private static final String CSV_HEADER = "id,customerId,firstName,lastName,otherName,createdAt,updatedAt,deletedFlag\n";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${customer-export.fetch-size:1000}")
+    int fetchSize = 1000;
+
+    public static boolean isSupportedFormat(String format) {
+        return NDJSON.equalsIgnoreCase(format) || CSV.equalsIgnoreCase(format);
+    }
+
+    /**
+     * Writes every customer with an id greater than {@code afterId}, at most
+     * {@code limit} rows when a limit is given, and returns the number written.
+     */
+    public long export(OutputStream out, String format, Long afterId, Integer limit) throws IOException {
+        boolean csv = CSV.equalsIgnoreCase(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // Rows reach the response when the writer's buffer fills, not one flush per row
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .setRootValueSeparator(null);
+        AtomicLong written = new AtomicLong();
+        String sql = limit != null && limit > 0 ? EXPORT_SQL + " LIMIT " + limit : EXPORT_SQL;
+
+        if (csv) {
+            writer.write(CSV_HEADER);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, afterId != null ? afterId : 0L);
+            return ps;
+        }, rs -> {
+            try {
+                Customer customer = mapRow(rs);
+                if (csv) {
+                    writeCsv(writer, customer);
+                } else {
+                    generator.writeObject(customer);
+                    // Through the generator, so the newline lands after the row it buffered
+                    generator.writeRaw('\n');
+                }
+                written.incrementAndGet();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+
+        generator.flush();
+        writer.flush();
+        return written.get();
+    }
+
+    private Customer mapRow(ResultSet rs) throws SQLException {
+        Customer customer = new Customer();
+        customer.setId(rs.getLong("id"));
+        customer.setCustomerId(rs.getString("customer_id"));
+        customer.setFirstName(rs.getString("first_name"));
+        customer.setLastName(rs.getString("last_name"));
+        customer.setOtherName(rs.getString("other_name"));
+        Date createdAt = rs.getDate("created_at");
+        customer.setCreatedAt(createdAt != null ? createdAt.toLocalDate() : null);
+        Date updatedAt = rs.getDate("updated_at");
+        customer.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDate() : null);
+        customer.setDeletedFlag(rs.getString("deleted_flag"));
+        return customer;
+    }
+
+    private void writeCsv(Writer writer, Customer customer) throws IOException {
+        writer.write(String.valueOf(customer.getId()));
+        writer.write(',');
+        writer.write(csvField(customer.getCustomerId()));
+        writer.write(',');
+        writer.write(csvField(customer.getFirstName()));
+        writer.write(',');
+        writer.write(csvField(customer.getLastName()));
+        writer.write(',');
+        writer.write(csvField(customer.getOtherName()));
+        writer.write(',');
+        writer.write(csvField(customer.getCreatedAt() != null ? customer.getCreatedAt().toString() : null));
+        writer.write(',');
+        writer.write(csvField(customer.getUpdatedAt() != null ? customer.getUpdatedAt().toString() : null));
+        writer.write(',');
+        writer.write(csvField(customer.getDeletedFlag()));
+        writer.write('\n');
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,15 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Data
+@Table(name = "customer_id_sequences")
+public class CustomerIdSequence {
+    @Id
+    private String prefix;
+
+    @Column(nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,18 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CustomerIdSequenceRepository extends JpaRepository<CustomerIdSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CustomerIdSequence s WHERE s.prefix = :prefix")
+    Optional<CustomerIdSequence> findByPrefixForUpdate(@Param("prefix") String prefix);
+}
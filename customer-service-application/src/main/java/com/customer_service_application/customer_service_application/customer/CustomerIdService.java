@@ -0,0 +1,154 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Issues CUS{year}{sequence} customer IDs from blocks pre-allocated in the
+ * customer_id_sequences table. The sequence is zero-padded to five digits and
+ * simply grows wider past 99,999 in a year. Every block refill is counted in
+ * the customer.id.block.refills metric.
+ */
+@Service
+public class CustomerIdService {
+    @Autowired
+    CustomerIdSequenceRepository sequenceRepository;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${customer-id.block-size:100}")
+    int blockSize = 100;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    public String nextCustomerId() {
+        String prefix = "CUS" + LocalDate.now().getYear();
+        return format(prefix, next(prefix));
+    }
+
+    /**
+     * Reserves {@code count} consecutive IDs in a single refill, for callers
+     * creating many customers at once.
+     */
+    public List<String> reserveCustomerIds(int count) {
+        String prefix = "CUS" + LocalDate.now().getYear();
+        List<String> ids = new ArrayList<>(count);
+        if (count == 0) {
+            return ids;
+        }
+        Block block = reserveBlock(prefix, count);
+        for (int i = 0; i < count; i++) {
+            ids.add(format(prefix, block.cursor.getAndIncrement()));
+        }
+        return ids;
+    }
+
+    private static String format(String prefix, long sequence) {
+        return prefix + String.format("%05d", sequence);
+    }
+
+    private long next(String prefix) {
+        Block block = blocks.get(prefix);
+        if (block != null) {
+            long value = block.cursor.getAndIncrement();
+            if (value < block.limit) {
+                return value;
+            }
+        }
+        return nextFromNewBlock(prefix);
+    }
+
+    private long nextFromNewBlock(String prefix) {
+        refillLock.lock();
+        try {
+            Block block = blocks.get(prefix);
+            if (block != null) {
+                long value = block.cursor.getAndIncrement();
+                if (value < block.limit) {
+                    return value;
+                }
+            }
+            blocks.keySet().removeIf(key -> !key.equals(prefix));
+
+            Block reserved = reserveBlock(prefix, blockSize);
+            long value = reserved.cursor.getAndIncrement();
+            blocks.put(prefix, reserved);
+            return value;
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private Block reserveBlock(String prefix, int size) {
+        Block block;
+        try {
+            block = transactionTemplate.execute(status -> doReserveBlock(prefix, size));
+        } catch (DataIntegrityViolationException e) {
+            // The first ID of a new year raced another instance to create the
+            // year's sequence row; take the next block from theirs
+            block = transactionTemplate.execute(status -> doReserveBlock(prefix, size));
+        }
+        meterRegistry.counter("customer.id.block.refills", "prefix", prefix).increment();
+        meterRegistry.counter("customer.id.block.reserved", "prefix", prefix).increment(size);
+        return block;
+    }
+
+    private Block doReserveBlock(String prefix, int size) {
+        CustomerIdSequence sequence = sequenceRepository.findByPrefixForUpdate(prefix)
+                .orElseGet(() -> newSequence(prefix));
+
+        long start = sequence.getNextValue();
+        sequence.setNextValue(start + size);
+        sequenceRepository.saveAndFlush(sequence);
+
+        return new Block(start, start + size);
+    }
+
+    private CustomerIdSequence newSequence(String prefix) {
+        // Continue after any customer IDs issued before the sequence row existed
+        long nextValue = 1;
+        String lastId = customerRepository.findLastCustomerIdForYear(prefix);
+        if (lastId != null && lastId.startsWith(prefix)) {
+            try {
+                nextValue = Long.parseLong(lastId.substring(prefix.length())) + 1;
+            } catch (NumberFormatException ignored) {
+                // Not one of ours, start the year from scratch
+            }
+        }
+
+        CustomerIdSequence sequence = new CustomerIdSequence();
+        sequence.setPrefix(prefix);
+        sequence.setNextValue(nextValue);
+        return sequence;
+    }
+
+    private static final class Block {
+        private final AtomicLong cursor;
+        private final long limit;
+
+        private Block(long start, long limit) {
+            this.cursor = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
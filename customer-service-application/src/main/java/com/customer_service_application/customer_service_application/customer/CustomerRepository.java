@@ -8,30 +8,40 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
-    @Query(value = "SELECT * FROM customer c " +
-            "WHERE (c.first_name ILIKE '%' || :keyword || '%' " +
-            "OR c.last_name ILIKE '%' || :keyword || '%') " +
-            "AND c.created_at >= COALESCE(:startDate, c.created_at) " +
-            "AND c.created_at <= COALESCE(:endDate, c.created_at) " +
-            "ORDER BY c.created_at DESC",
-            countQuery = "SELECT COUNT(*) FROM customer c " +
-                    "WHERE (c.first_name ILIKE '%' || :keyword || '%' " +
-                    "OR c.last_name ILIKE '%' || :keyword || '%') " +
-                    "AND c.created_at >= COALESCE(:startDate, c.created_at) " +
-                    "AND c.created_at <= COALESCE(:endDate, c.created_at)",
+    /**
+     * {@code pattern} is an escaped {@code %keyword%} ILIKE pattern; the name
+     * predicates are served by the pg_trgm GIN indexes and the date bounds are
+     * plain range predicates, so neither forces a sequential scan.
+     */
+    @Query(value = "SELECT * FROM customers c " +
+            "WHERE (c.first_name ILIKE :pattern OR c.last_name ILIKE :pattern) " +
+            "AND c.created_at BETWEEN :startDate AND :endDate",
+            countQuery = "SELECT COUNT(*) FROM customers c " +
+                    "WHERE (c.first_name ILIKE :pattern OR c.last_name ILIKE :pattern) " +
+                    "AND c.created_at BETWEEN :startDate AND :endDate",
             nativeQuery = true)
     Page<Customer> findByKeywordAndDateRange(
-            @Param("keyword") String keyword,
+            @Param("pattern") String pattern,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
             Pageable pageable);
 
 
-    @Query(value = "SELECT customer_id FROM customer WHERE customer_id LIKE (:prefix || '%') ORDER BY customer_id DESC LIMIT 1", nativeQuery = true)
+    /**
+     * Highest customer ID issued under {@code prefix}. Sequences are at least
+     * five digits and grow wider past 99,999, so IDs are ordered by length
+     * before text; text order alone would put CUS202599999 after CUS2025100000.
+     */
+    @Query(value = "SELECT customer_id FROM customers WHERE customer_id LIKE (:prefix || '%') " +
+            "ORDER BY LENGTH(customer_id) DESC, customer_id DESC LIMIT 1", nativeQuery = true)
     String findLastCustomerIdForYear(@Param("prefix") String prefix);
 
     Customer findByCustomerId(String customerId);
+
+    List<Customer> findByCustomerIdIn(Collection<String> customerIds);
 }
 
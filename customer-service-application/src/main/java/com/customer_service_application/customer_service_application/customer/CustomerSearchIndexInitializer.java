@@ -0,0 +1,89 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Creates the pg_trgm GIN indexes that let the customer name search use
+ * ILIKE '%keyword%' without a sequential scan. Indexes are built
+ * CONCURRENTLY so writes to customers carry on while they build, which needs
+ * the autocommit connection JdbcTemplate gets outside a transaction. A
+ * concurrent build that failed leaves an invalid index behind that IF NOT
+ * EXISTS would skip, so one is dropped and built again. Every statement is
+ * idempotent; a failure (e.g. no privilege to create the extension) is logged
+ * and the search keeps working, only slower.
+ */
+@Slf4j
+@Component
+public class CustomerSearchIndexInitializer {
+    static final String EXTENSION_STATEMENT = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+
+    // Index name to the statement that builds it
+    static final Map<String, String> INDEX_STATEMENTS = Map.of(
+            "idx_customers_first_name_trgm",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_first_name_trgm ON customers USING gin (first_name gin_trgm_ops)",
+            "idx_customers_last_name_trgm",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_last_name_trgm ON customers USING gin (last_name gin_trgm_ops)",
+            "idx_customers_created_at",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_created_at ON customers (created_at)"
+    );
+
+    static final String INVALID_INDEX_QUERY =
+            "SELECT count(*) FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ? AND NOT i.indisvalid";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${customer-search.manage-indexes:true}")
+    boolean manageIndexes = true;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        if (!manageIndexes || !isPostgres()) {
+            return;
+        }
+        apply(EXTENSION_STATEMENT);
+        INDEX_STATEMENTS.forEach((name, statement) -> {
+            if (isInvalid(name)) {
+                apply("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+            }
+            apply(statement);
+        });
+    }
+
+    private void apply(String statement) {
+        try {
+            jdbcTemplate.execute(statement);
+        } catch (Exception e) {
+            log.warn("Could not apply customer search index statement [{}]: {}", statement, e.getMessage());
+        }
+    }
+
+    private boolean isInvalid(String index) {
+        try {
+            Integer invalid = jdbcTemplate.queryForObject(INVALID_INDEX_QUERY, Integer.class, index);
+            return invalid != null && invalid > 0;
+        } catch (Exception e) {
+            log.warn("Could not check customer search index {}: {}", index, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (Exception e) {
+            log.warn("Could not determine database type, skipping customer search indexes: {}", e.getMessage());
+            return false;
+        }
+    }
+}
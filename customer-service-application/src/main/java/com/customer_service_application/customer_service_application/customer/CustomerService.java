@@ -1,7 +1,9 @@
 package com.customer_service_application.customer_service_application.customer;
 
 import com.customer_service_application.customer_service_application.utilities.EntityResponse;
+import com.customer_service_application.customer_service_application.utilities.SingleFlight;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -17,11 +20,31 @@ public class CustomerService {
     @Autowired
     CustomerRepository customerRepository;
 
+    @Autowired
+    CustomerIdService customerIdService;
+
+    @Autowired
+    CustomerChangePublisher customerChangePublisher;
+
+    // Concurrent fetches of one customer share a query; each caller gets its own DTO
+    private final SingleFlight<String, CustomerDto> customerLookups = new SingleFlight<>(CustomerService::copyOf);
+
+    // Open date bounds keep the created_at predicate a plain range
+    static final LocalDate SEARCH_FROM = LocalDate.of(1900, 1, 1);
+    static final LocalDate SEARCH_TO = LocalDate.of(9999, 12, 31);
+
+    // Trigram indexes can only help with keywords of three or more characters
+    @Value("${customer-search.min-keyword-length:3}")
+    int minKeywordLength = 3;
+
+    @Value("${customer-batch.max-ids:500}")
+    int maxBatchLookupIds = 500;
+
     public EntityResponse<Customer> create(CustomerDto customerDto) {
         EntityResponse<Customer> response = new EntityResponse<>();
         try {
             Customer customer = new Customer();
-            customer.setCustomerId(generateCustomerId());
+            customer.setCustomerId(customerIdService.nextCustomerId());
             customer.setFirstName(customerDto.getFirstName());
             customer.setLastName(customerDto.getLastName());
             customer.setOtherName(customerDto.getOtherName());
@@ -29,6 +52,7 @@ public class CustomerService {
             customer.setDeletedFlag("N");
 
             Customer savedCustomer = customerRepository.save(customer);
+            customerChangePublisher.publish(savedCustomer.getCustomerId(), CustomerChangeEvent.CREATED);
 
             response.setPayload(savedCustomer);
             response.setMessage("Customer created successfully");
@@ -41,22 +65,6 @@ public class CustomerService {
     }
 
 
-    public String generateCustomerId() {
-        String year = String.valueOf(LocalDate.now().getYear());
-        String prefix = "CUS" + year;
-        String lastId = customerRepository.findLastCustomerIdForYear(prefix);
-
-        int nextNumber = 1;
-        if (lastId != null && lastId.matches(prefix + "\\d{5}")) {
-            String numberPart = lastId.substring(prefix.length());
-            nextNumber = Integer.parseInt(numberPart) + 1;
-        }
-
-        return prefix + String.format("%05d", nextNumber);
-    }
-
-
-
     public EntityResponse<List<Customer>> fetchAll() {
         EntityResponse<List<Customer>> response = new EntityResponse<>();
         try {
@@ -81,17 +89,16 @@ public class CustomerService {
 
     public EntityResponse<CustomerDto> fetchById(String customerId) {
         EntityResponse<CustomerDto> response = new EntityResponse<>();
-        Customer customer = customerRepository.findByCustomerId(customerId);
+        CustomerDto customer = customerLookups.execute(customerId, () -> {
+            Customer found = customerRepository.findByCustomerId(customerId);
+            return found != null ? toDto(found) : null;
+        });
 
         if (customer == null) {
             response.setMessage("Customer not found");
             response.setStatusCode(HttpStatus.NOT_FOUND.value());
         } else {
-            CustomerDto dto = new CustomerDto();
-            dto.setFirstName(customer.getFirstName());
-            dto.setLastName(customer.getLastName());
-            dto.setOtherName(customer.getOtherName());
-            response.setPayload(dto);
+            response.setPayload(customer);
             response.setMessage("Customer fetched successfully");
             response.setStatusCode(HttpStatus.OK.value());
         }
@@ -99,6 +106,53 @@ public class CustomerService {
         return response;
     }
 
+    /**
+     * Looks up many customers with one IN query. The payload maps each
+     * customerId that exists to its details; unknown ids are left out.
+     */
+    public EntityResponse<Map<String, CustomerDto>> batchLookup(List<String> customerIds) {
+        EntityResponse<Map<String, CustomerDto>> response = new EntityResponse<>();
+        if (customerIds == null || customerIds.isEmpty()) {
+            response.setMessage("customerIds must not be empty");
+            response.setStatusCode(HttpStatus.BAD_REQUEST.value());
+            return response;
+        }
+        if (customerIds.size() > maxBatchLookupIds) {
+            response.setMessage("At most " + maxBatchLookupIds + " customerIds per lookup");
+            response.setStatusCode(HttpStatus.BAD_REQUEST.value());
+            return response;
+        }
+        try {
+            Map<String, CustomerDto> found = new HashMap<>();
+            for (Customer customer : customerRepository.findByCustomerIdIn(new HashSet<>(customerIds))) {
+                found.put(customer.getCustomerId(), toDto(customer));
+            }
+            response.setPayload(found);
+            response.setMessage("Customers fetched successfully");
+            response.setStatusCode(HttpStatus.OK.value());
+        } catch (Exception e) {
+            response.setMessage("Error: " + e.getMessage());
+            response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+        return response;
+    }
+
+    private CustomerDto toDto(Customer customer) {
+        CustomerDto dto = new CustomerDto();
+        dto.setFirstName(customer.getFirstName());
+        dto.setLastName(customer.getLastName());
+        dto.setOtherName(customer.getOtherName());
+        return dto;
+    }
+
+    private static CustomerDto copyOf(CustomerDto customer) {
+        CustomerDto copy = new CustomerDto();
+        copy.setFirstName(customer.getFirstName());
+        copy.setLastName(customer.getLastName());
+        copy.setOtherName(customer.getOtherName());
+        return copy;
+    }
+
     public EntityResponse<Customer> editCustomer(Long customerId, CustomerDto updatedCustomerData) {
         EntityResponse<Customer> response = new EntityResponse<>();
         try {
@@ -117,6 +171,7 @@ public class CustomerService {
             existingCustomer.setUpdatedAt(LocalDate.now());
 
             Customer savedCustomer = customerRepository.save(existingCustomer);
+            customerChangePublisher.publish(savedCustomer.getCustomerId(), CustomerChangeEvent.UPDATED);
 
             response.setPayload(savedCustomer);
             response.setMessage("Customer updated successfully");
@@ -143,6 +198,7 @@ public class CustomerService {
             Customer customerToDelete = optionalCustomer.get();
             customerToDelete.setDeletedFlag("Y");
             customerRepository.save(customerToDelete);
+            customerChangePublisher.publish(customerToDelete.getCustomerId(), CustomerChangeEvent.DELETED);
 
             response.setPayload(customerToDelete);
             response.setMessage("Customer deleted successfully (soft delete)");
@@ -159,8 +215,18 @@ public class CustomerService {
             String keyword, LocalDate startDate, LocalDate endDate, Pageable pageable) {
 
         EntityResponse<Map<String, Object>> response = new EntityResponse<>();
+        String trimmed = keyword == null ? "" : keyword.trim();
+        if (trimmed.length() < minKeywordLength) {
+            response.setMessage("Search keyword must be at least " + minKeywordLength + " characters");
+            response.setStatusCode(HttpStatus.BAD_REQUEST.value());
+            return response;
+        }
         try {
-            Page<Customer> customersPage = customerRepository.findByKeywordAndDateRange(keyword, startDate, endDate, pageable);
+            Page<Customer> customersPage = customerRepository.findByKeywordAndDateRange(
+                    likePattern(trimmed),
+                    startDate != null ? startDate : SEARCH_FROM,
+                    endDate != null ? endDate : SEARCH_TO,
+                    pageable);
 
             if (customersPage.isEmpty()) {
                 response.setPayload(null);
@@ -186,5 +252,9 @@ public class CustomerService {
         return response;
     }
 
+    static String likePattern(String keyword) {
+        String escaped = keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
 
 }
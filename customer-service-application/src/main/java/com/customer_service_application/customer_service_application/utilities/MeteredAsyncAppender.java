@@ -0,0 +1,54 @@
+package com.customer_service_application.customer_service_application.utilities;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback AsyncAppender that counts the events it throws away. Once the
+ * queue is past the discarding threshold INFO and below are discarded, and
+ * with neverBlock set a full queue drops any event rather than making the
+ * logging thread wait. Counts are kept per appender name so they carry over
+ * when logback reloads its configuration; LoggingMetrics publishes them.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+    private static final Map<String, LongAdder> DISCARDED = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> DROPPED = new ConcurrentHashMap<>();
+
+    public static double discarded(String appender) {
+        return counter(DISCARDED, appender).sum();
+    }
+
+    public static double dropped(String appender) {
+        return counter(DROPPED, appender).sum();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // offer() on a full queue fails silently, so look before handing the event on;
+        // an event that fills the last slot concurrently is not counted
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            counter(getDiscardingThreshold() > 0 && super.isDiscardable(event) ? DISCARDED : DROPPED, getName())
+                    .increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    // Only asked once the queue is past the discarding threshold
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            counter(DISCARDED, getName()).increment();
+        }
+        return discardable;
+    }
+
+    private static LongAdder counter(Map<String, LongAdder> counters, String appender) {
+        return counters.computeIfAbsent(appender, name -> new LongAdder());
+    }
+}
@@ -0,0 +1,67 @@
+package com.customer_service_application.customer_service_application.utilities;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lets concurrent lookups of the same key share one call. The first caller for
+ * a key runs the loader; callers arriving while it is in flight wait for it and
+ * get its value, passed through copy, or its exception. A mutable value (an
+ * entity or DTO) needs a copy function, or one request's changes to it would
+ * show up in the others. Nothing is kept once the call finishes, so the next
+ * lookup after it goes to the source again.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final UnaryOperator<V> copy;
+
+    // For immutable values, which callers can share as they are
+    public SingleFlight() {
+        this(UnaryOperator.identity());
+    }
+
+    public SingleFlight(UnaryOperator<V> copy) {
+        this.copy = copy;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        if (key == null) {
+            return loader.get();
+        }
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            V value = await(existing);
+            return value != null ? copy.apply(value) : null;
+        }
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (Throwable e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // Rethrow what the loader threw, as the caller that ran it saw it
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
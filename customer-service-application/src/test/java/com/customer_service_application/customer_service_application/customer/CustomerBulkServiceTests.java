@@ -0,0 +1,185 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import com.customer_service_application.customer_service_application.utilities.EntityResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CustomerBulkServiceTests {
+
+    @InjectMocks
+    private CustomerBulkService customerBulkService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CustomerIdService customerIdService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> batchCaptor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(customerIdService.reserveCustomerIds(anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(0);
+            List<String> ids = new ArrayList<>();
+            IntStream.range(0, count).forEach(i -> ids.add("CUS2025" + String.format("%05d", i + 1)));
+            return ids;
+        });
+    }
+
+    private ByteArrayInputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void bulkCreate_WithJsonArray_ShouldInsertInChunks() {
+        String json = """
+                [
+                  {"firstName": "John", "lastName": "Doe"},
+                  {"firstName": "Jane", "lastName": "Doe"},
+                  {"firstName": "Mary", "lastName": "Ann", "otherName": "W"}
+                ]
+                """;
+
+        EntityResponse<CustomerBulkResult> response = customerBulkService.bulkCreate(body(json), 2);
+
+        assertEquals(HttpStatus.CREATED.value(), response.getStatusCode());
+        assertEquals(3, response.getPayload().getReceived());
+        assertEquals(3, response.getPayload().getCreated());
+        assertTrue(response.getPayload().getFailures().isEmpty());
+
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(CustomerBulkService.INSERT_SQL), batchCaptor.capture());
+        assertEquals(2, batchCaptor.getAllValues().get(0).size());
+        assertEquals(1, batchCaptor.getAllValues().get(1).size());
+        assertEquals("CUS202500001", batchCaptor.getAllValues().get(0).get(0)[0]);
+        verify(customerIdService).reserveCustomerIds(2);
+        verify(customerIdService).reserveCustomerIds(1);
+    }
+
+    @Test
+    void bulkCreate_ShouldClampChunkSizeToTheConfiguredMaximum() {
+        customerBulkService.maxChunkSize = 2;
+        String ndjson = """
+                {"firstName": "John", "lastName": "Doe"}
+                {"firstName": "Jane", "lastName": "Doe"}
+                {"firstName": "Mary", "lastName": "Ann"}
+                """;
+
+        EntityResponse<CustomerBulkResult> response = customerBulkService.bulkCreate(body(ndjson), Integer.MAX_VALUE);
+
+        assertEquals(HttpStatus.CREATED.value(), response.getStatusCode());
+        assertEquals(3, response.getPayload().getCreated());
+        verify(customerIdService).reserveCustomerIds(2);
+        verify(customerIdService).reserveCustomerIds(1);
+        verify(customerIdService, never()).reserveCustomerIds(3);
+    }
+
+    @Test
+    void bulkCreate_WithNdjson_ShouldReportInvalidRows() {
+        String ndjson = """
+                {"firstName": "John", "lastName": "Doe"}
+                {"firstName": "Jane"}
+                {"firstName": "Mary", "lastName": "Ann"}
+                """;
+
+        EntityResponse<CustomerBulkResult> response = customerBulkService.bulkCreate(body(ndjson), null);
+
+        assertEquals(HttpStatus.MULTI_STATUS.value(), response.getStatusCode());
+        assertEquals(3, response.getPayload().getReceived());
+        assertEquals(2, response.getPayload().getCreated());
+        assertEquals(1, response.getPayload().getFailed());
+        assertEquals(1, response.getPayload().getFailures().get(0).getRow());
+        assertEquals("lastName is required", response.getPayload().getFailures().get(0).getMessage());
+    }
+
+    @Test
+    void bulkCreate_WhenBatchFails_ShouldFailWholeChunk() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("DB error"));
+
+        String ndjson = """
+                {"firstName": "John", "lastName": "Doe"}
+                {"firstName": "Jane", "lastName": "Doe"}
+                """;
+
+        EntityResponse<CustomerBulkResult> response = customerBulkService.bulkCreate(body(ndjson), 10);
+
+        assertEquals(HttpStatus.MULTI_STATUS.value(), response.getStatusCode());
+        assertEquals(0, response.getPayload().getCreated());
+        assertEquals(2, response.getPayload().getFailed());
+        assertTrue(response.getPayload().getFailures().get(0).getMessage().contains("Error:"));
+    }
+
+    @Test
+    void bulkCreate_WithMalformedBody_ShouldReturnBadRequest() {
+        EntityResponse<CustomerBulkResult> response = customerBulkService.bulkCreate(body("{\"firstName\": "), 10);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertTrue(response.getMessage().contains("Error:"));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void bulkCreate_WhenBodyBreaksMidStream_ShouldLoadRowsReadSoFarAndSayWhereItStopped() {
+        String ndjson = """
+                {"firstName": "John", "lastName": "Doe"}
+                {"firstName": "Jane", "lastName": "Doe"}
+                {"firstName": "Mary", "lastName":
+                """;
+
+        EntityResponse<CustomerBulkResult> response = customerBulkService.bulkCreate(body(ndjson), 10);
+
+        assertEquals(HttpStatus.MULTI_STATUS.value(), response.getStatusCode());
+        assertEquals(2, response.getPayload().getReceived());
+        assertEquals(2, response.getPayload().getCreated());
+        assertEquals(2L, response.getPayload().getStoppedAtRow());
+        assertTrue(response.getMessage().contains("could not read row 2"));
+        verify(jdbcTemplate).batchUpdate(eq(CustomerBulkService.INSERT_SQL), batchCaptor.capture());
+        assertEquals(2, batchCaptor.getValue().size());
+    }
+
+    @Test
+    void bulkCreate_ShouldCapListedFailuresButCountThemAll() {
+        customerBulkService.maxReportedFailures = 2;
+        String ndjson = """
+                {"firstName": "John"}
+                {"firstName": "Jane"}
+                {"firstName": "Mary"}
+                """;
+
+        EntityResponse<CustomerBulkResult> response = customerBulkService.bulkCreate(body(ndjson), 10);
+
+        assertEquals(3, response.getPayload().getFailed());
+        assertEquals(2, response.getPayload().getFailures().size());
+    }
+}
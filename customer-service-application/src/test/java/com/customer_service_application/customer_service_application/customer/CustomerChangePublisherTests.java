@@ -0,0 +1,69 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CustomerChangePublisherTests {
+
+    private CustomerChangePublisher publisher;
+
+    @Mock
+    private DiscoveryClient discoveryClient;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        publisher = new CustomerChangePublisher(discoveryClient, restTemplate);
+        publisher.subscribers = List.of("http://account-service/accounts/customer-events", "http://b/events");
+        publisher.eventsToken = "secret";
+    }
+
+    @Test
+    void publish_ShouldPostEventToEveryInstanceOfEverySubscriberEvenWhenOneFails() {
+        List<ServiceInstance> instances = List.of(
+                new DefaultServiceInstance("a1", "account-service", "10.0.0.1", 8086, false),
+                new DefaultServiceInstance("a2", "account-service", "10.0.0.2", 8086, false));
+        when(discoveryClient.getInstances("account-service")).thenReturn(instances);
+        when(restTemplate.postForEntity(eq("http://10.0.0.1:8086/accounts/customer-events"), any(), eq(Void.class)))
+                .thenThrow(new ResourceAccessException("down"));
+
+        publisher.publish("CUS202500001", CustomerChangeEvent.UPDATED);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<HttpEntity<CustomerChangeEvent>> sent = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).postForEntity(eq("http://10.0.0.1:8086/accounts/customer-events"), any(), eq(Void.class));
+        verify(restTemplate).postForEntity(eq("http://10.0.0.2:8086/accounts/customer-events"), sent.capture(), eq(Void.class));
+        // Not registered in discovery, so called as configured
+        verify(restTemplate).postForEntity(eq("http://b/events"), any(), eq(Void.class));
+
+        assertEquals(new CustomerChangeEvent("CUS202500001", CustomerChangeEvent.UPDATED), sent.getValue().getBody());
+        assertEquals("secret", sent.getValue().getHeaders().getFirst(CustomerChangeEvent.TOKEN_HEADER));
+    }
+
+    @Test
+    void publish_ShouldSendNothingWhenTheEventsTokenIsNotSet() {
+        publisher.eventsToken = "";
+
+        publisher.publish("CUS202500001", CustomerChangeEvent.UPDATED);
+
+        verifyNoInteractions(restTemplate, discoveryClient);
+    }
+}
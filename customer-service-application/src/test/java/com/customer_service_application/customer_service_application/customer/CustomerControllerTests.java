@@ -11,6 +11,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.util.Collections;
@@ -23,7 +24,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(CustomerController.class)
@@ -35,6 +38,12 @@ public class CustomerControllerTests {
     @MockBean
     private CustomerService customerService;
 
+    @MockBean
+    private CustomerBulkService customerBulkService;
+
+    @MockBean
+    private CustomerExportService customerExportService;
+
     private CustomerDto sampleDto;
 
     private Customer sampleCustomer;
@@ -58,6 +67,24 @@ public class CustomerControllerTests {
 
 
 
+    @Test
+    void batchLookup_ShouldPassIdsToService() throws Exception {
+        CustomerDto john = new CustomerDto();
+        john.setFirstName("John");
+        EntityResponse<Map<String, CustomerDto>> response = new EntityResponse<>();
+        response.setStatusCode(200);
+        response.setPayload(Map.of("CUS202500001", john));
+
+        when(customerService.batchLookup(List.of("CUS202500001", "CUS202500002"))).thenReturn(response);
+
+        mockMvc.perform(post("/customers/batch-lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerIds\": [\"CUS202500001\", \"CUS202500002\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.CUS202500001.firstName").value("John"))
+                .andExpect(jsonPath("$.payload.CUS202500002").doesNotExist());
+    }
+
     @Test
     void createCustomer_ShouldReturnCreated() throws Exception {
         EntityResponse<Customer> response = new EntityResponse<>();
@@ -83,6 +110,56 @@ public class CustomerControllerTests {
         verify(customerService).create(any(CustomerDto.class));
     }
 
+    @Test
+    void bulkCreate_ShouldStreamBodyToService() throws Exception {
+        CustomerBulkResult result = new CustomerBulkResult();
+        result.setReceived(2);
+        result.setCreated(2);
+
+        EntityResponse<CustomerBulkResult> response = new EntityResponse<>();
+        response.setStatusCode(201);
+        response.setMessage("Bulk load completed");
+        response.setPayload(result);
+
+        when(customerBulkService.bulkCreate(any(), eq(500))).thenReturn(response);
+
+        mockMvc.perform(post("/customers/bulk")
+                        .param("chunkSize", "500")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                        {"firstName": "John", "lastName": "Doe"}
+                        {"firstName": "Jane", "lastName": "Doe"}
+                        """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.payload.created").value(2));
+
+        verify(customerBulkService).bulkCreate(any(), eq(500));
+    }
+
+    @Test
+    void export_ShouldStreamFromService() throws Exception {
+        when(customerExportService.export(any(), eq("ndjson"), eq(10L), isNull())).thenAnswer(invocation -> {
+            invocation.<java.io.OutputStream>getArgument(0).write("{\"id\":11}\n".getBytes());
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/customers/export").param("afterId", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":11}\n"));
+    }
+
+    @Test
+    void export_WithUnknownFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/customers/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(status().reason("Unsupported export format: xml"));
+    }
+
     @Test
     void fetchAll_ShouldReturnOk() throws Exception {
         EntityResponse<List<Customer>> response = new EntityResponse<>();
@@ -0,0 +1,125 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CustomerExportServiceTests {
+
+    @InjectMocks
+    private CustomerExportService customerExportService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(preparedStatement);
+
+        // Two rows, the second with a comma in its name to exercise CSV quoting
+        when(resultSet.getLong("id")).thenReturn(7L, 8L);
+        when(resultSet.getString("customer_id")).thenReturn("CUS202500007", "CUS202500008");
+        when(resultSet.getString("first_name")).thenReturn("John", "Jane");
+        when(resultSet.getString("last_name")).thenReturn("Doe", "Doe, Jr");
+        when(resultSet.getString("other_name")).thenReturn((String) null);
+        when(resultSet.getDate("created_at")).thenReturn(Date.valueOf("2025-05-18"), Date.valueOf("2025-05-19"));
+        when(resultSet.getString("deleted_flag")).thenReturn("N", "N");
+
+        doAnswer(invocation -> {
+            invocation.<PreparedStatementCreator>getArgument(0).createPreparedStatement(connection);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void export_AsNdjson_ShouldWriteOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = customerExportService.export(out, "ndjson", 6L, null);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, written);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":7,"));
+        assertTrue(lines[1].contains("\"createdAt\":\"2025-05-19\""));
+
+        verify(preparedStatement).setFetchSize(1000);
+        verify(preparedStatement).setLong(1, 6L);
+    }
+
+    @Test
+    void export_AsNdjson_ShouldFlushTheResponseOnceAtTheEnd() throws Exception {
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        customerExportService.export(out, "ndjson", null, null);
+
+        assertEquals(1, flushes.get());
+    }
+
+    @Test
+    void export_AsCsv_ShouldWriteHeaderAndQuoteFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        customerExportService.export(out, "csv", null, 2);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,customerId,firstName,lastName,otherName,createdAt,updatedAt,deletedFlag", lines[0]);
+        assertEquals("7,CUS202500007,John,Doe,,2025-05-18,,N", lines[1]);
+        assertEquals("8,CUS202500008,Jane,\"Doe, Jr\",,2025-05-19,,N", lines[2]);
+
+        verify(connection).prepareStatement(eq(CustomerExportService.EXPORT_SQL + " LIMIT 2"), anyInt(), anyInt());
+        verify(preparedStatement).setLong(1, 0L);
+    }
+}
@@ -0,0 +1,110 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CustomerIdServiceTests {
+
+    @InjectMocks
+    private CustomerIdService customerIdService;
+
+    @Mock
+    private CustomerIdSequenceRepository sequenceRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final String prefix = "CUS" + LocalDate.now().getYear();
+
+    private final Map<String, CustomerIdSequence> table = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        customerIdService.blockSize = 10;
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        when(sequenceRepository.findByPrefixForUpdate(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(table.get(invocation.<String>getArgument(0))));
+        when(sequenceRepository.saveAndFlush(any(CustomerIdSequence.class)))
+                .thenAnswer(invocation -> {
+                    CustomerIdSequence sequence = invocation.getArgument(0);
+                    table.put(sequence.getPrefix(), sequence);
+                    return sequence;
+                });
+    }
+
+    @Test
+    void nextCustomerId_ShouldContinueAfterExistingIds() {
+        when(customerRepository.findLastCustomerIdForYear(prefix)).thenReturn(prefix + "00009");
+
+        assertEquals(prefix + "00010", customerIdService.nextCustomerId());
+        assertEquals(prefix + "00011", customerIdService.nextCustomerId());
+    }
+
+    @Test
+    void nextCustomerId_ShouldContinuePastFiveDigits() {
+        when(customerRepository.findLastCustomerIdForYear(prefix)).thenReturn(prefix + "99999");
+
+        assertEquals(prefix + "100000", customerIdService.nextCustomerId());
+        // A reservation takes its own block, after the 10 already cached
+        assertEquals(List.of(prefix + "100010", prefix + "100011"), customerIdService.reserveCustomerIds(2));
+    }
+
+    @Test
+    void nextCustomerId_ShouldCountBlockRefills() {
+        for (int i = 0; i < 25; i++) {
+            customerIdService.nextCustomerId();
+        }
+
+        assertEquals(3.0, meterRegistry.counter("customer.id.block.refills", "prefix", prefix).count());
+        assertEquals(30.0, meterRegistry.counter("customer.id.block.reserved", "prefix", prefix).count());
+        verify(customerRepository, times(1)).findLastCustomerIdForYear(prefix);
+    }
+
+    @Test
+    void nextCustomerId_ShouldNeverHandOutDuplicatesUnderConcurrency() throws Exception {
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    issued.add(customerIdService.nextCustomerId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(threads * perThread, issued.size());
+    }
+}
@@ -0,0 +1,71 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+public class CustomerSearchIndexInitializerTests {
+
+    @InjectMocks
+    private CustomerSearchIndexInitializer initializer;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void createIndexes_OnPostgres_ShouldRunEveryStatementEvenIfOneFails() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(eq(CustomerSearchIndexInitializer.INVALID_INDEX_QUERY), eq(Integer.class), anyString()))
+                .thenReturn(0);
+        doThrow(new RuntimeException("permission denied"))
+                .when(jdbcTemplate).execute(CustomerSearchIndexInitializer.EXTENSION_STATEMENT);
+
+        initializer.createIndexes();
+
+        for (String statement : CustomerSearchIndexInitializer.INDEX_STATEMENTS.values()) {
+            verify(jdbcTemplate).execute(statement);
+        }
+        verify(jdbcTemplate, never()).execute(startsWith("DROP INDEX"));
+    }
+
+    @Test
+    void createIndexes_OnPostgres_ShouldRebuildAnIndexLeftInvalidByAFailedBuild() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(eq(CustomerSearchIndexInitializer.INVALID_INDEX_QUERY), eq(Integer.class), anyString()))
+                .thenReturn(0);
+        when(jdbcTemplate.queryForObject(CustomerSearchIndexInitializer.INVALID_INDEX_QUERY, Integer.class, "idx_customers_last_name_trgm"))
+                .thenReturn(1);
+
+        initializer.createIndexes();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_customers_last_name_trgm");
+        inOrder.verify(jdbcTemplate).execute(CustomerSearchIndexInitializer.INDEX_STATEMENTS.get("idx_customers_last_name_trgm"));
+        verify(jdbcTemplate).execute(startsWith("DROP INDEX"));
+    }
+
+    @Test
+    void createIndexes_OnOtherDatabases_ShouldDoNothing() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        initializer.createIndexes();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
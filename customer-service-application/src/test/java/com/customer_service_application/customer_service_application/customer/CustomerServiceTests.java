@@ -17,9 +17,11 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,6 +33,12 @@ public class CustomerServiceTests {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerIdService customerIdService;
+
+    @Mock
+    private CustomerChangePublisher customerChangePublisher;
+
     private CustomerDto sampleDto;
     private Customer sampleCustomer;
 
@@ -66,7 +74,7 @@ public class CustomerServiceTests {
         savedCustomer.setOtherName("M");
         savedCustomer.setDeletedFlag("N");
 
-        when(customerRepository.findLastCustomerIdForYear(anyString())).thenReturn(null);
+        when(customerIdService.nextCustomerId()).thenReturn("CUS202500001");
         when(customerRepository.save(any(Customer.class))).thenReturn(savedCustomer);
 
         EntityResponse<Customer> response = customerService.create(dto);
@@ -110,6 +118,7 @@ public class CustomerServiceTests {
         assertEquals(HttpStatus.OK.value(), response.getStatusCode());
         assertEquals("Customer updated successfully", response.getMessage());
         verify(customerRepository).save(any(Customer.class));
+        verify(customerChangePublisher).publish(sampleCustomer.getCustomerId(), CustomerChangeEvent.UPDATED);
     }
 
     @Test
@@ -134,6 +143,7 @@ public class CustomerServiceTests {
         assertEquals("Customer deleted successfully (soft delete)", response.getMessage());
         verify(customerRepository).save(any(Customer.class));
         assertEquals("Y", sampleCustomer.getDeletedFlag());
+        verify(customerChangePublisher).publish(sampleCustomer.getCustomerId(), CustomerChangeEvent.DELETED);
     }
 
     @Test
@@ -150,7 +160,7 @@ public class CustomerServiceTests {
     void searchCustomers_WhenFound_ShouldReturnPagedResult() {
         Page<Customer> page = new PageImpl<>(List.of(sampleCustomer), PageRequest.of(0, 10), 1);
         when(customerRepository.findByKeywordAndDateRange(
-                eq("John"), isNull(), isNull(), any(Pageable.class)))
+                eq("%John%"), eq(CustomerService.SEARCH_FROM), eq(CustomerService.SEARCH_TO), any(Pageable.class)))
                 .thenReturn(page);
 
         EntityResponse<Map<String, Object>> response = customerService.searchCustomers("John", null, null, PageRequest.of(0, 10));
@@ -171,7 +181,7 @@ public class CustomerServiceTests {
     void searchCustomers_WhenNotFound_ShouldReturnNotFound() {
         Page<Customer> emptyPage = Page.empty();
         when(customerRepository.findByKeywordAndDateRange(
-                eq("Unknown"), isNull(), isNull(), any(Pageable.class)))
+                eq("%Unknown%"), eq(CustomerService.SEARCH_FROM), eq(CustomerService.SEARCH_TO), any(Pageable.class)))
                 .thenReturn(emptyPage);
 
         EntityResponse<Map<String, Object>> response = customerService.searchCustomers("Unknown", null, null, PageRequest.of(0, 10));
@@ -181,4 +191,56 @@ public class CustomerServiceTests {
         assertNull(response.getPayload());
     }
 
+    @Test
+    void searchCustomers_WithDateRange_ShouldPassBoundsThrough() {
+        LocalDate start = LocalDate.of(2025, 5, 16);
+        LocalDate end = LocalDate.of(2025, 5, 17);
+        Page<Customer> page = new PageImpl<>(List.of(sampleCustomer), PageRequest.of(0, 10), 1);
+        when(customerRepository.findByKeywordAndDateRange(eq("%Ant%"), eq(start), eq(end), any(Pageable.class)))
+                .thenReturn(page);
+
+        EntityResponse<Map<String, Object>> response = customerService.searchCustomers(" Ant ", start, end, PageRequest.of(0, 10));
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+    }
+
+    @Test
+    void searchCustomers_WithShortKeyword_ShouldReturnBadRequest() {
+        EntityResponse<Map<String, Object>> response = customerService.searchCustomers("Jo", null, null, PageRequest.of(0, 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertEquals("Search keyword must be at least 3 characters", response.getMessage());
+        verify(customerRepository, never()).findByKeywordAndDateRange(any(), any(), any(), any());
+    }
+
+    @Test
+    void likePattern_ShouldEscapeWildcards() {
+        assertEquals("%50\\%\\_off%", CustomerService.likePattern("50%_off"));
+    }
+
+
+    @Test
+    void batchLookup_ShouldResolveKnownIdsWithOneQuery() {
+        sampleCustomer.setCustomerId("CUS202500001");
+        when(customerRepository.findByCustomerIdIn(Set.of("CUS202500001", "CUS202500002")))
+                .thenReturn(List.of(sampleCustomer));
+
+        EntityResponse<Map<String, CustomerDto>> response =
+                customerService.batchLookup(List.of("CUS202500001", "CUS202500002"));
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(Set.of("CUS202500001"), response.getPayload().keySet());
+        assertEquals("John", response.getPayload().get("CUS202500001").getFirstName());
+        verify(customerRepository, never()).findByCustomerId(anyString());
+    }
+
+    @Test
+    void batchLookup_ShouldRejectEmptyOrOversizedRequests() {
+        customerService.maxBatchLookupIds = 1;
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), customerService.batchLookup(List.of()).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(),
+                customerService.batchLookup(List.of("CUS202500001", "CUS202500002")).getStatusCode());
+        verify(customerRepository, never()).findByCustomerIdIn(any());
+    }
 }
@@ -0,0 +1,130 @@
+package com.customer_service_application.customer_service_application.customer;
+
+import com.customer_service_application.customer_service_application.utilities.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTests {
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_sharesOneCallBetweenConcurrentCallersForSameKey() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Caller<Integer> leader = start(() -> singleFlight.execute("a", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return 42;
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        List<Caller<Integer>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(start(() -> singleFlight.execute("a", calls::incrementAndGet)));
+        }
+        awaitWaiting(followers);
+        release.countDown();
+
+        assertEquals(42, leader.get());
+        for (Caller<Integer> follower : followers) {
+            assertEquals(42, follower.get());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_givesWaitingCallersTheirOwnCopy() throws Exception {
+        SingleFlight<String, List<String>> lists = new SingleFlight<>(ArrayList::new);
+        List<String> loaded = new ArrayList<>(List.of("x"));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Caller<List<String>> leader = start(() -> lists.execute("a", () -> {
+            started.countDown();
+            await(release);
+            return loaded;
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        Caller<List<String>> follower = start(() -> lists.execute("a", List::of));
+        awaitWaiting(List.of(follower));
+        release.countDown();
+
+        assertSame(loaded, leader.get());
+        List<String> copy = follower.get();
+        assertEquals(loaded, copy);
+        assertNotSame(loaded, copy);
+    }
+
+    @Test
+    void execute_callsAgainOnceInFlightCallFinished() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("a", calls::incrementAndGet);
+        singleFlight.execute("a", calls::incrementAndGet);
+        singleFlight.execute("b", calls::incrementAndGet);
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void execute_givesWaitingCallersTheLeadersException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Caller<Integer> leader = start(() -> singleFlight.execute("a", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("down");
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        Caller<Integer> follower = start(() -> singleFlight.execute("a", () -> 1));
+        awaitWaiting(List.of(follower));
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get());
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get());
+        assertInstanceOf(IllegalStateException.class, leaderFailure.getCause());
+        assertSame(leaderFailure.getCause(), followerFailure.getCause());
+    }
+
+    private static <T> Caller<T> start(Callable<T> call) {
+        FutureTask<T> result = new FutureTask<>(call);
+        Thread thread = new Thread(result);
+        thread.setDaemon(true);
+        thread.start();
+        return new Caller<>(thread, result);
+    }
+
+    // A caller joining the in-flight call parks until the leader completes it
+    private static void awaitWaiting(List<? extends Caller<?>> callers) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        for (Caller<?> caller : callers) {
+            while (caller.thread().getState() != Thread.State.WAITING) {
+                assertTrue(System.nanoTime() < deadline, "caller did not join the in-flight call");
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private record Caller<T>(Thread thread, FutureTask<T> result) {
+        T get() throws Exception {
+            return result.get(1, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
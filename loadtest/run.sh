@@ -0,0 +1,24 @@
+#!/usr/bin/env bash
+# End-to-end load test of the customer -> account -> card chain, no Docker needed.
+#
+#   ./run.sh
+#   ./run.sh -Dloadtest.threads=64 -Dloadtest.duration=2m
+#   ./run.sh -Dloadtest.mix=create-chain=50,fetch-account=50
+#   ./run.sh -Dloadtest.service.customer-service.client=batched
+#
+# Installs the three services (their poms supply the harness classpath),
+# builds target/loadtest.jar and runs it. The services start in one JVM on
+# in-memory H2 databases in PostgreSQL mode, with Eureka switched off. The
+# harness seeds data, warms up, then prints requests, errors, req/s and
+# p50/p99/p999/max per endpoint. See LoadTest for every setting.
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+
+for module in account-service card-service customer-service-application; do
+  (cd "$ROOT/$module" && mvn -B -q -DskipTests install)
+done
+(cd "$ROOT/loadtest" && mvn -B -q -DskipTests package)
+
+cd "$ROOT/loadtest"
+java "$@" -jar target/loadtest.jar
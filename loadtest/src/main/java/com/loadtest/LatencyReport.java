@@ -0,0 +1,75 @@
+package com.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and error counts. Only calls made while
+ * recording is on are kept, so warm-up traffic does not skew the numbers.
+ */
+public class LatencyReport {
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+    private volatile boolean recording;
+    private long startedAt;
+    private long stoppedAt;
+
+    public void start() {
+        startedAt = System.nanoTime();
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+        stoppedAt = System.nanoTime();
+    }
+
+    public void record(String endpoint, long nanos, boolean ok) {
+        if (!recording) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.latency.recordValue(Math.min(nanos, HIGHEST_TRACKABLE));
+        if (!ok) {
+            stats.errors.increment();
+        }
+    }
+
+    public void print(PrintStream out) {
+        double seconds = Duration.ofNanos(stoppedAt - startedAt).toMillis() / 1000.0;
+        out.printf("%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Histogram latency = entry.getValue().latency;
+            total += latency.getTotalCount();
+            out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(),
+                    latency.getTotalCount(),
+                    entry.getValue().errors.sum(),
+                    latency.getTotalCount() / seconds,
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()));
+        }
+        out.printf("%-28s %9d %7s %9.1f   (over %.0f s)%n", "total", total, "", total / seconds, seconds);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Endpoint {
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
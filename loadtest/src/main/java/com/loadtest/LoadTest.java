@@ -0,0 +1,86 @@
+package com.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Boots the three services locally (see {@link LocalServices}), seeds them
+ * through the create chain, then drives the request mix from a fixed number
+ * of closed-loop workers and prints throughput and p50/p99/p999 per endpoint.
+ *
+ * <pre>
+ *   java -Dloadtest.threads=64 -Dloadtest.duration=2m -jar target/loadtest.jar
+ * </pre>
+ *
+ * Settings (system properties): loadtest.threads (default 32),
+ * loadtest.seed (create chains before warm-up, default 200),
+ * loadtest.warmup (default 15s), loadtest.duration (default 60s) and
+ * loadtest.mix (weights, default {@value Workload#DEFAULT_MIX}).
+ * Workers wait for each response before sending the next request, so at
+ * saturation the tail percentiles understate what an open-loop client would see.
+ */
+public final class LoadTest {
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.getInteger("loadtest.threads", 32);
+        int seed = Integer.getInteger("loadtest.seed", 200);
+        Duration warmup = DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "15s"));
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "60s"));
+        String mix = System.getProperty("loadtest.mix", Workload.DEFAULT_MIX);
+
+        LatencyReport report = new LatencyReport();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try (LocalServices services = new LocalServices().start()) {
+            Workload workload = new Workload(services, report, mix);
+
+            System.out.printf("Seeding %d customers, accounts and cards%n", seed);
+            AtomicInteger remaining = new AtomicInteger(seed);
+            awaitAll(workers, threads, () -> {
+                while (remaining.getAndDecrement() > 0) {
+                    workload.createChain();
+                }
+            });
+
+            System.out.printf("Warming up for %s with %d workers%n", warmup, threads);
+            runFor(workers, threads, workload, warmup);
+
+            System.out.printf("Measuring for %s with %d workers, mix %s%n", duration, threads, mix);
+            report.start();
+            runFor(workers, threads, workload, duration);
+            report.stop();
+
+            report.print(System.out);
+        } finally {
+            workers.shutdownNow();
+        }
+        System.exit(0);
+    }
+
+    private static void runFor(ExecutorService workers, int threads, Workload workload, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        awaitAll(workers, threads, () -> {
+            while (System.nanoTime() < deadline) {
+                workload.next();
+            }
+        });
+    }
+
+    private static void awaitAll(ExecutorService workers, int threads, Runnable task) throws Exception {
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            running.add(workers.submit(task));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.loadtest;
+
+import com.account_service.account_service.AccountServiceApplication;
+import com.card_service.card_service.CardServiceApplication;
+import com.customer_service_application.customer_service_application.CustomerServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs customer-service, account-service and card-service in this JVM, each
+ * with its own application.yml/properties but on an in-memory H2 database in
+ * PostgreSQL mode instead of Postgres. Eureka is switched off and Spring
+ * Cloud's simple discovery client is given the three local ports, so the
+ * load-balanced clients and the hedged clients resolve customer-service,
+ * account-service and card-service exactly as they would through Eureka.
+ */
+public class LocalServices implements AutoCloseable {
+    private final int customerPort = freePort();
+    private final int accountPort = freePort();
+    private final int cardPort = freePort();
+    private final String eventsToken = UUID.randomUUID().toString();
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    public LocalServices start() {
+        // Downstream first, so each service's clients find a live instance
+        contexts.add(start(CardServiceApplication.class, "card-service", cardPort, "cards_db"));
+        contexts.add(start(AccountServiceApplication.class, "account-service", accountPort, "accounts_db"));
+        contexts.add(start(CustomerServiceApplication.class, "customer-service-application", customerPort, "customers_db"));
+        return this;
+    }
+
+    public String customerServiceUrl() {
+        return "http://localhost:" + customerPort;
+    }
+
+    public String accountServiceUrl() {
+        return "http://localhost:" + accountPort;
+    }
+
+    public String cardServiceUrl() {
+        return "http://localhost:" + cardPort;
+    }
+
+    private ConfigurableApplicationContext start(Class<?> application, String module, int port, String database) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.config.location=classpath:/" + module + "/",
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:" + database
+                        + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                // application.properties pins the PostgreSQL dialect, whose lock syntax H2 rejects
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--eureka.client.enabled=false",
+                "--spring.cloud.discovery.client.simple.instances.customer-service[0].uri=" + customerServiceUrl(),
+                "--spring.cloud.discovery.client.simple.instances.account-service[0].uri=" + accountServiceUrl(),
+                "--spring.cloud.discovery.client.simple.instances.card-service[0].uri=" + cardServiceUrl(),
+                "--logging.level.root=WARN",
+                "--logging.file.path=target/loadtest-logs/" + module,
+                "--tracing.export.enabled=true",
+                "--tracing.export.file=target/loadtest-logs/" + module + "/spans.ndjson",
+                "--service-events.token=" + eventsToken));
+        // Anything passed as loadtest.service.* applies to all three, e.g.
+        // -Dloadtest.service.customer-service.client=batched
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("loadtest.service."))
+                .forEach(name -> args.add("--" + name.substring("loadtest.service.".length()) + "=" + System.getProperty(name)));
+        return new SpringApplicationBuilder(application).run(args.toArray(String[]::new));
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            contexts.get(i).close();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The request mix a worker draws from. A create chain is what a new customer
+ * goes through: POST /customers, then POST /accounts for that customer, then
+ * POST /cards for the account, each step timed as its own endpoint. Reads and
+ * searches pick ids and names from what the chains created.
+ */
+public class Workload {
+    static final String DEFAULT_MIX = "create-chain=10,fetch-customer=25,fetch-account=25,search-customers=15,search-cards=25";
+
+    private static final String[] FIRST_NAMES = {"Amina", "Brian", "Cynthia", "David", "Esther", "Felix", "Grace", "Hassan"};
+    private static final String[] LAST_NAMES = {"Otieno", "Wanjiku", "Mwangi", "Kamau", "Achieng", "Njoroge", "Mutua", "Kiprop"};
+
+    enum Operation {
+        CREATE_CHAIN("create-chain"),
+        FETCH_CUSTOMER("fetch-customer"),
+        FETCH_ACCOUNT("fetch-account"),
+        SEARCH_CUSTOMERS("search-customers"),
+        SEARCH_CARDS("search-cards");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation of(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation " + key + ", expected one of " + DEFAULT_MIX);
+        }
+    }
+
+    private final LocalServices services;
+    private final LatencyReport report;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Operation[] weighted;
+    private final IdPool customerIds = new IdPool(10_000);
+    private final IdPool accountIds = new IdPool(10_000);
+
+    public Workload(LocalServices services, LatencyReport report, String mix) {
+        this.services = services;
+        this.report = report;
+        this.weighted = parseMix(mix);
+    }
+
+    /** Runs one operation drawn from the mix. */
+    public void next() {
+        Operation operation = customerIds.isEmpty()
+                ? Operation.CREATE_CHAIN
+                : weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+        run(operation);
+    }
+
+    public void createChain() {
+        run(Operation.CREATE_CHAIN);
+    }
+
+    private void run(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case CREATE_CHAIN -> {
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                JsonNode customer = post("POST /customers", services.customerServiceUrl() + "/customers",
+                        Map.of("firstName", firstName, "lastName", lastName));
+                if (customer == null) {
+                    return;
+                }
+                String customerId = customer.path("payload").path("customerId").asText();
+                customerIds.add(customerId);
+
+                JsonNode account = post("POST /accounts", services.accountServiceUrl() + "/accounts",
+                        Map.of("customerId", customerId, "bicSwift", "KCBLKENX"));
+                if (account == null) {
+                    return;
+                }
+                String accountId = account.path("payload").path("accountId").asText();
+                accountIds.add(accountId);
+
+                post("POST /cards", services.cardServiceUrl() + "/cards",
+                        Map.of("accountId", accountId, "cardAlias", firstName + " everyday",
+                                "type", random.nextBoolean() ? "VIRTUAL" : "PHYSICAL", "cvv", "123"));
+            }
+            case FETCH_CUSTOMER -> get("GET /customers",
+                    services.customerServiceUrl() + "/customers?customerId=" + customerIds.random());
+            case FETCH_ACCOUNT -> get("GET /accounts",
+                    services.accountServiceUrl() + "/accounts?accountId=" + accountIds.random());
+            case SEARCH_CUSTOMERS -> get("GET /customers/search",
+                    services.customerServiceUrl() + "/customers/search?q="
+                            + LAST_NAMES[random.nextInt(LAST_NAMES.length)].substring(0, 4) + "&size=10");
+            case SEARCH_CARDS -> get("GET /cards/search/cursor",
+                    services.cardServiceUrl() + "/cards/search/cursor?cardAlias="
+                            + FIRST_NAMES[random.nextInt(FIRST_NAMES.length)].substring(0, 3) + "&size=10");
+        }
+    }
+
+    private JsonNode post(String endpoint, String url, Map<String, String> body) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+            HttpResponse<String> response = send(endpoint, request);
+            return response != null && response.statusCode() / 100 == 2 ? objectMapper.readTree(response.body()) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void get(String endpoint, String url) {
+        send(endpoint, HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build());
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            report.record(endpoint, System.nanoTime() - start, response.statusCode() / 100 == 2);
+            return response;
+        } catch (IOException e) {
+            report.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static Operation[] parseMix(String mix) {
+        List<Operation> weighted = new ArrayList<>();
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] keyAndWeight = part.trim().split("=");
+            weights.put(Operation.of(keyAndWeight[0].trim()), Integer.parseInt(keyAndWeight[1].trim()));
+        }
+        weights.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("Mix " + mix + " has no weight");
+        }
+        return weighted.toArray(Operation[]::new);
+    }
+
+    /** The most recent ids created, for reads to pick from without locking. */
+    private static final class IdPool {
+        private final AtomicReferenceArray<String> ids;
+        private final AtomicLong added = new AtomicLong();
+
+        private IdPool(int capacity) {
+            this.ids = new AtomicReferenceArray<>(capacity);
+        }
+
+        void add(String id) {
+            ids.set((int) (added.getAndIncrement() % ids.length()), id);
+        }
+
+        boolean isEmpty() {
+            return added.get() == 0;
+        }
+
+        String random() {
+            int size = (int) Math.min(added.get(), ids.length());
+            String id = size == 0 ? null : ids.get(ThreadLocalRandom.current().nextInt(size));
+            return id != null ? id : "";
+        }
+    }
+}